@@ -1,91 +0,0 @@
-package com.koushik.techInterviewSim.config;
-
-import jakarta.servlet.FilterChain;
-import jakarta.servlet.ServletException;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.http.HttpHeaders;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
-import org.springframework.web.filter.OncePerRequestFilter;
-
-import com.koushik.techInterviewSim.security.JwtTokenProvider;
-
-import java.io.IOException;
-import java.util.Arrays;
-import java.util.List;
-
-@Configuration
-@RequiredArgsConstructor
-public class JwtConfig extends OncePerRequestFilter {
-
-    private final JwtTokenProvider jwtTokenProvider;
-    private final UserDetailsService userDetailsService;
-
-    // Paths that don't need authentication
-    private static final List<String> EXCLUDED_PATHS = Arrays.asList(
-        "/api/auth/login",
-        "/api/auth/register",
-        "/api/public",
-        "/swagger-ui",
-        "/v3/api-docs",
-        "/actuator"
-    );
-
-    @Override
-    protected void doFilterInternal(
-            HttpServletRequest request,
-            HttpServletResponse response,
-            FilterChain filterChain
-    ) throws ServletException, IOException {
-        // Get authorization header
-        final String header = request.getHeader(HttpHeaders.AUTHORIZATION);
-        
-        // Check if path should be excluded from authentication
-        if (shouldExcludePath(request.getServletPath())) {
-            filterChain.doFilter(request, response);
-            return;
-        }
-
-        // Check if header is valid
-        if (header == null || !header.startsWith("Bearer ")) {
-            filterChain.doFilter(request, response);
-            return;
-        }
-
-        // Extract and validate token
-        final String token = header.substring(7);
-        if (!jwtTokenProvider.validateToken(token)) {
-            filterChain.doFilter(request, response);
-            return;
-        }
-
-        // Get user details and set authentication
-        String username = jwtTokenProvider.getUsernameFromToken(token);
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            
-            UsernamePasswordAuthenticationToken authentication = 
-                new UsernamePasswordAuthenticationToken(
-                    userDetails,
-                    null,
-                    userDetails.getAuthorities()
-                );
-            
-            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-        }
-
-        filterChain.doFilter(request, response);
-    }
-
-    private boolean shouldExcludePath(String servletPath) {
-        return EXCLUDED_PATHS.stream()
-                .anyMatch(path -> servletPath.startsWith(path));
-    }
-}
@@ -0,0 +1,21 @@
+package com.koushik.techInterviewSim.config;
+
+import com.koushik.techInterviewSim.security.AuthRateLimiter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final AuthRateLimiter authRateLimiter;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Only the endpoints that spend a password hash per call
+        registry.addInterceptor(authRateLimiter)
+                .addPathPatterns("/api/auth/login", "/api/auth/register");
+    }
+}
@@ -1,7 +1,12 @@
 package com.koushik.techInterviewSim.controller;
 
+import com.koushik.techInterviewSim.dto.CursorPage;
 import com.koushik.techInterviewSim.dto.InterviewSessionDTO;
+import com.koushik.techInterviewSim.dto.QuestionDTO;
+import com.koushik.techInterviewSim.dto.SessionTurnDTO;
+import com.koushik.techInterviewSim.entity.Question;
 import com.koushik.techInterviewSim.service.InterviewSessionService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -24,8 +29,16 @@ public class InterviewSessionController {
         return ResponseEntity.ok(sessionService.getAllSessions(pageable));
     }
 
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<InterviewSessionDTO>> scrollSessions(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(sessionService.scrollSessions(cursor, size));
+    }
+
     @GetMapping("/user/{userId}")
-    @PreAuthorize("hasRole('ADMIN') or @userService.getUserById(#userId).username == authentication.name")
+    @PreAuthorize("hasRole('ADMIN') or @ownership.isSelf(#userId, authentication)")
     public ResponseEntity<List<InterviewSessionDTO>> getUserSessions(@PathVariable Long userId) {
         return ResponseEntity.ok(sessionService.getUserSessions(userId));
     }
@@ -35,14 +48,42 @@ public class InterviewSessionController {
         return ResponseEntity.ok(sessionService.startSession(userId));
     }
 
+    // Draws questions the session's user has not been asked yet; see QuestionService#drawUnseenQuestions
+    @PostMapping("/{sessionId}/questions")
+    @PreAuthorize("hasRole('ADMIN') or @ownership.ownsSession(#sessionId, authentication)")
+    public ResponseEntity<List<QuestionDTO>> drawQuestions(
+            @PathVariable Long sessionId,
+            @RequestParam Question.QuestionCategory category,
+            @RequestParam Question.QuestionDifficulty difficulty,
+            @RequestParam(defaultValue = "5") int limit,
+            @RequestParam(required = false) Long seed) {
+        return ResponseEntity.ok(sessionService.drawQuestions(sessionId, category, difficulty, limit, seed));
+    }
+
+    // Accepted into the transcript log, written to the database shortly after
+    @PostMapping("/{sessionId}/turns")
+    @PreAuthorize("hasRole('ADMIN') or @ownership.ownsSession(#sessionId, authentication)")
+    public ResponseEntity<Void> recordTurn(
+            @PathVariable Long sessionId,
+            @Valid @RequestBody SessionTurnDTO turn) {
+        sessionService.recordTurn(sessionId, turn);
+        return ResponseEntity.accepted().build();
+    }
+
+    @GetMapping("/{sessionId}/turns")
+    @PreAuthorize("hasRole('ADMIN') or @ownership.ownsSession(#sessionId, authentication)")
+    public ResponseEntity<List<SessionTurnDTO>> getTranscript(@PathVariable Long sessionId) {
+        return ResponseEntity.ok(sessionService.getTranscript(sessionId));
+    }
+
     @PostMapping("/{sessionId}/end")
-    @PreAuthorize("hasRole('ADMIN') or @sessionService.getSessionById(#sessionId).username == authentication.name")
+    @PreAuthorize("hasRole('ADMIN') or @ownership.ownsSession(#sessionId, authentication)")
     public ResponseEntity<InterviewSessionDTO> endSession(@PathVariable Long sessionId) {
         return ResponseEntity.ok(sessionService.endSession(sessionId));
     }
 
     @PostMapping("/{sessionId}/cancel")
-    @PreAuthorize("hasRole('ADMIN') or @sessionService.getSessionById(#sessionId).username == authentication.name")
+    @PreAuthorize("hasRole('ADMIN') or @ownership.ownsSession(#sessionId, authentication)")
     public ResponseEntity<InterviewSessionDTO> cancelSession(@PathVariable Long sessionId) {
         return ResponseEntity.ok(sessionService.cancelSession(sessionId));
     }
@@ -1,45 +1,99 @@
 package com.koushik.techInterviewSim.controller;
 
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.koushik.techInterviewSim.dto.CursorPage;
+import com.koushik.techInterviewSim.dto.DuplicateReport;
 import com.koushik.techInterviewSim.dto.QuestionDTO;
+import com.koushik.techInterviewSim.dto.QuestionImportReport;
+import com.koushik.techInterviewSim.dto.QuestionSummaryDTO;
 import com.koushik.techInterviewSim.entity.Question;
+import com.koushik.techInterviewSim.service.QuestionCatalog;
+import com.koushik.techInterviewSim.service.QuestionExportService;
+import com.koushik.techInterviewSim.service.QuestionImportService;
 import com.koushik.techInterviewSim.service.QuestionService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/questions")
 @RequiredArgsConstructor
 public class QuestionController {
 
+    // Clients may keep catalog reads but must revalidate them with If-None-Match
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final QuestionService questionService;
+    private final QuestionImportService questionImportService;
+    private final QuestionExportService questionExportService;
 
     @GetMapping
     public ResponseEntity<Page<QuestionDTO>> getAllQuestions(Pageable pageable) {
         return ResponseEntity.ok(questionService.getAllQuestions(pageable));
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<QuestionDTO> getQuestionById(@PathVariable Long id) {
-        return ResponseEntity.ok(questionService.getQuestionById(id));
+    // Cursor-paged listing without a total count; the Page form above stays for small views
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<QuestionDTO>> scrollQuestions(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(questionService.scrollQuestions(cursor, size));
+    }
+
+    // Hot reads below write pre-encoded QuestionDTO JSON; see QuestionJsonCache
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getQuestionById(@PathVariable Long id, WebRequest request) {
+        return conditional(request, () -> questionService.getQuestionJson(id));
     }
 
+    // Listings are paged in id order; any requested sort is ignored
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<QuestionDTO>> getQuestionsByCategory(
-            @PathVariable Question.QuestionCategory category) {
-        return ResponseEntity.ok(questionService.getQuestionsByCategory(category));
+    public ResponseEntity<Page<RawValue>> getQuestionsByCategory(
+            @PathVariable Question.QuestionCategory category,
+            Pageable pageable,
+            WebRequest request) {
+        return conditional(request, () -> questionService.getQuestionsByCategory(category, pageable));
+    }
+
+    @GetMapping("/category/{category}/summary")
+    public ResponseEntity<Page<QuestionSummaryDTO>> getQuestionSummariesByCategory(
+            @PathVariable Question.QuestionCategory category,
+            Pageable pageable,
+            WebRequest request) {
+        return conditional(request, () -> questionService.getQuestionSummariesByCategory(category, pageable));
     }
 
     @GetMapping("/difficulty/{difficulty}")
-    public ResponseEntity<List<QuestionDTO>> getQuestionsByDifficulty(
-            @PathVariable Question.QuestionDifficulty difficulty) {
-        return ResponseEntity.ok(questionService.getQuestionsByDifficulty(difficulty));
+    public ResponseEntity<Page<RawValue>> getQuestionsByDifficulty(
+            @PathVariable Question.QuestionDifficulty difficulty,
+            Pageable pageable,
+            WebRequest request) {
+        return conditional(request, () -> questionService.getQuestionsByDifficulty(difficulty, pageable));
+    }
+
+    @GetMapping("/difficulty/{difficulty}/summary")
+    public ResponseEntity<Page<QuestionSummaryDTO>> getQuestionSummariesByDifficulty(
+            @PathVariable Question.QuestionDifficulty difficulty,
+            Pageable pageable,
+            WebRequest request) {
+        return conditional(request, () -> questionService.getQuestionSummariesByDifficulty(difficulty, pageable));
     }
 
     @PostMapping
@@ -48,6 +102,39 @@ public class QuestionController {
         return ResponseEntity.ok(questionService.createQuestion(questionDTO));
     }
 
+    /**
+     * Bulk import from an NDJSON or CSV body, read row by row. Invalid rows are
+     * reported and skipped; valid rows are still imported.
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<QuestionImportReport> importQuestions(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(questionImportService.importQuestions(body, MediaType.parseMediaType(contentType)));
+    }
+
+    /**
+     * Streams the whole bank as NDJSON in the import format, optionally gzipped.
+     * Rows are written as they are read, so the first bytes go out immediately.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportQuestions(@RequestParam(defaultValue = "false") boolean gzip,
+                                HttpServletResponse response) throws IOException {
+        String filename = "questions-" + LocalDate.now() + (gzip ? ".ndjson.gz" : ".ndjson");
+        response.setContentType(gzip ? "application/gzip" : QuestionImportService.NDJSON.toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(filename).build().toString());
+        questionExportService.exportQuestions(response.getOutputStream(), gzip);
+    }
+
+    @GetMapping("/duplicates")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<DuplicateReport> getDuplicateReport(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(questionService.getDuplicateReport(limit));
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<QuestionDTO> updateQuestion(
@@ -63,11 +150,50 @@ public class QuestionController {
         return ResponseEntity.noContent().build();
     }
 
+    // Streams cached payloads into the response; nothing is serialized per request
     @GetMapping("/random")
-    public ResponseEntity<List<QuestionDTO>> getRandomQuestions(
+    public void getRandomQuestions(
             @RequestParam Question.QuestionCategory category,
             @RequestParam Question.QuestionDifficulty difficulty,
-            @RequestParam(defaultValue = "5") int limit) {
-        return ResponseEntity.ok(questionService.getRandomQuestions(category, difficulty, limit));
+            @RequestParam(defaultValue = "5") int limit,
+            @RequestParam(required = false) Long seed,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        questionService.writeRandomQuestions(category, difficulty, limit, seed, response.getOutputStream());
+    }
+
+    @GetMapping("/{id}/related")
+    public ResponseEntity<List<QuestionDTO>> getRelatedQuestions(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "5") int k) {
+        return ResponseEntity.ok(questionService.getRelatedQuestions(id, k));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<Page<QuestionDTO>> searchQuestions(
+            @RequestParam String q,
+            @RequestParam(required = false) Question.QuestionCategory category,
+            @RequestParam(required = false) Question.QuestionDifficulty difficulty,
+            Pageable pageable) {
+        return ResponseEntity.ok(questionService.searchQuestions(q, category, difficulty, pageable));
+    }
+
+    /**
+     * Answers 304 from the catalog revision alone when the client's validators still
+     * match, before the body is built or serialized. As RFC 9110 requires, If-Modified-Since
+     * is only consulted when there is no If-None-Match, so an ETag is never overruled by
+     * the one-second precision of a date.
+     */
+    private <T> ResponseEntity<T> conditional(WebRequest request, Supplier<T> body) {
+        // Read before the body: a concurrent change can only make the body newer than its ETag
+        QuestionCatalog.Revision revision = questionService.getCatalogRevision();
+        if (request.checkNotModified(revision.etag(), revision.builtAt().toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .eTag(revision.etag())
+                .lastModified(revision.builtAt())
+                .body(body.get());
     }
 }
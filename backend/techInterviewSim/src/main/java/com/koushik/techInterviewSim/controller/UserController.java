@@ -1,5 +1,6 @@
 package com.koushik.techInterviewSim.controller;
 
+import com.koushik.techInterviewSim.dto.CursorPage;
 import com.koushik.techInterviewSim.dto.UserDTO;
 import com.koushik.techInterviewSim.service.UserService;
 import lombok.RequiredArgsConstructor;
@@ -22,8 +23,16 @@ public class UserController {
         return ResponseEntity.ok(userService.getAllUsers(pageable));
     }
 
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<UserDTO>> scrollUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(userService.scrollUsers(cursor, size));
+    }
+
     @GetMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or @userService.getUserById(#id).username == authentication.name")
+    @PreAuthorize("hasRole('ADMIN') or @ownership.isSelf(#id, authentication)")
     public ResponseEntity<UserDTO> getUserById(@PathVariable Long id) {
         return ResponseEntity.ok(userService.getUserById(id));
     }
@@ -35,7 +44,7 @@ public class UserController {
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or @userService.getUserById(#id).username == authentication.name")
+    @PreAuthorize("hasRole('ADMIN') or @ownership.isSelf(#id, authentication)")
     public ResponseEntity<UserDTO> updateUser(@PathVariable Long id, @RequestBody UserDTO userDTO) {
         return ResponseEntity.ok(userService.updateUser(id, userDTO));
     }
@@ -0,0 +1,36 @@
+package com.koushik.techInterviewSim.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (cursor) listing. There is no total count; pass
+ * {@code nextCursor} back to get the following page, until it is null.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+
+    /**
+     * Builds a page from up to {@code size + 1} rows; the extra row only signals
+     * that another page exists.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size, Function<E, T> mapper,
+                                          Function<E, String> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+        return new CursorPage<>(
+            page.stream().map(mapper).toList(),
+            size,
+            hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null
+        );
+    }
+}
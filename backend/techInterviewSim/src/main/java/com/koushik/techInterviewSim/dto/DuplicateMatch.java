@@ -0,0 +1,14 @@
+package com.koushik.techInterviewSim.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A stored question that is likely a rephrasing; similarity is the estimated Jaccard index
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateMatch {
+    private Long id;
+    private double similarity;
+}
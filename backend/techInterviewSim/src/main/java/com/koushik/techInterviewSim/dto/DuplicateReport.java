@@ -0,0 +1,22 @@
+package com.koushik.techInterviewSim.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateReport {
+    private double threshold;
+    private int questions;
+    private int totalClusters;
+
+    // Largest clusters first; only the first few are listed
+    private List<List<QuestionDTO>> clusters;
+    private long durationMs;
+}
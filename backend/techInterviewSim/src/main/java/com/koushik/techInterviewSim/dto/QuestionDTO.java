@@ -6,6 +6,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -30,4 +32,7 @@ public class QuestionDTO {
     private Integer timesAsked;
     private Double averageScore;
     private Double successRate;
+
+    // Set on create and text updates when the bank already has similar questions
+    private List<DuplicateMatch> possibleDuplicates;
 }
@@ -0,0 +1,47 @@
+package com.koushik.techInterviewSim.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionImportReport {
+    private long rows;
+    private long imported;
+    private long failed;
+
+    // Only the first errors are kept so the report stays small for any file size
+    private List<RowError> errors;
+    private boolean errorsTruncated;
+
+    // Imported rows that look like rephrasings of questions already in the bank
+    private long flagged;
+    private List<RowDuplicate> duplicates;
+    private boolean duplicatesTruncated;
+
+    private long durationMs;
+    private double rowsPerSecond;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowDuplicate {
+        private long line;
+        private Long questionId;
+        private double similarity;
+    }
+}
@@ -0,0 +1,16 @@
+package com.koushik.techInterviewSim.dto;
+
+import com.koushik.techInterviewSim.entity.Question;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Listing row without the question text, for pickers and counts
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionSummaryDTO {
+    private Long id;
+    private Question.QuestionCategory category;
+    private Question.QuestionDifficulty difficulty;
+}
@@ -0,0 +1,29 @@
+package com.koushik.techInterviewSim.dto;
+
+import com.koushik.techInterviewSim.entity.SessionTurn;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionTurnDTO {
+    private Long id;
+    private Long sessionId;
+    private Long questionId;
+
+    @NotBlank(message = "Answer cannot be blank")
+    @Size(max = SessionTurn.MAX_ANSWER_LENGTH, message = "Answer is too long")
+    private String answer;
+
+    private LocalDateTime askedAt; // Sent by the client when the question was put to the candidate
+    private LocalDateTime answeredAt; // Set by the server on receipt
+    private Long latencyMs;
+}
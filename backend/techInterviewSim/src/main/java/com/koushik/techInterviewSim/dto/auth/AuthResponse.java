@@ -13,6 +13,7 @@ import java.util.Set;
 @AllArgsConstructor
 public class AuthResponse {
     private String token;
+    private String refreshToken;
     private String type = "Bearer";
     private Long id;
     private String username;
@@ -22,10 +23,11 @@ public class AuthResponse {
     private String message;
 
     // Constructor for successful authentication
-    public static AuthResponse success(String token, Long id, String username, String email, Set<String> roles) {
+    public static AuthResponse success(String token, String refreshToken, Long id, String username, String email, Set<String> roles) {
         return AuthResponse.builder()
                 .success(true)
                 .token(token)
+                .refreshToken(refreshToken)
                 .id(id)
                 .username(username)
                 .email(email)
@@ -9,13 +9,23 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "interview_sessions")
+@Table(name = "interview_sessions",
+    indexes = {
+        // Backs the newest-first keyset listing on (start_time, id)
+        @Index(name = "idx_interview_sessions_start_time_id", columnList = "start_time DESC, id DESC")
+    },
+    uniqueConstraints = {
+        // Named so starting a session can tell a second active session from other violations
+        @UniqueConstraint(name = InterviewSession.ACTIVE_USER_CONSTRAINT, columnNames = "active_user_id")
+    })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class InterviewSession {
 
+    public static final String ACTIVE_USER_CONSTRAINT = "uk_interview_sessions_active_user";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -34,6 +44,22 @@ public class InterviewSession {
     @Column(nullable = false)
     private InterviewStatus status;
 
+    // Roaring-serialized ids of the questions drawn in this session; a few bytes per question
+    @Column(name = "asked_questions", length = 65536)
+    private byte[] askedQuestions;
+
+    // The owner's id while IN_PROGRESS and null otherwise. NULLs never collide, so the unique
+    // constraint is a partial unique index on (user_id) WHERE status = 'IN_PROGRESS' that H2
+    // can express too: a user holds at most one active session, however requests interleave
+    @Column(name = "active_user_id")
+    private Long activeUserId;
+
+    @PrePersist
+    @PreUpdate
+    void syncActiveUser() {
+        activeUserId = status == InterviewStatus.IN_PROGRESS ? user.getId() : null;
+    }
+
     // Enum for Interview Status
     public enum InterviewStatus {
         SCHEDULED,
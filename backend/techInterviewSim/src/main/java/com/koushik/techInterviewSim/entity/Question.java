@@ -14,8 +14,13 @@ import lombok.NoArgsConstructor;
 @Builder
 public class Question {
 
+    public static final int ALLOCATION_SIZE = 50;
+
+    // Sequence ids with a pooled optimizer let Hibernate batch inserts; one
+    // round trip reserves ALLOCATION_SIZE ids
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "questions_seq")
+    @SequenceGenerator(name = "questions_seq", sequenceName = "questions_seq", allocationSize = ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, columnDefinition = "TEXT") // Use TEXT for potentially long questions
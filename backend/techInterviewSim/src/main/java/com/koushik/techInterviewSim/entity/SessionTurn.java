@@ -0,0 +1,59 @@
+package com.koushik.techInterviewSim.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * One question-and-answer turn of an interview session. Rows are append-only and are
+ * written in batches by {@code SessionTurnLog}, never one by one.
+ */
+@Entity
+@Table(name = "session_turns", indexes = {
+    // A session's transcript in order
+    @Index(name = "idx_session_turns_session_id_id", columnList = "session_id, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SessionTurn {
+
+    public static final int ALLOCATION_SIZE = 50;
+    public static final int MAX_ANSWER_LENGTH = 20_000;
+
+    // Pooled sequence ids, as for questions, so the batched inserts stay batched
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "session_turns_seq")
+    @SequenceGenerator(name = "session_turns_seq", sequenceName = "session_turns_seq", allocationSize = ALLOCATION_SIZE)
+    private Long id;
+
+    // Deleting a session drops its transcript in the database, without loading the turns
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "session_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private InterviewSession session;
+
+    // Not a foreign key: the transcript outlives questions removed from the bank
+    @Column(name = "question_id")
+    private Long questionId;
+
+    @Column(nullable = false, length = MAX_ANSWER_LENGTH)
+    private String answer;
+
+    @Column(name = "asked_at")
+    private LocalDateTime askedAt;
+
+    @Column(name = "answered_at", nullable = false)
+    private LocalDateTime answeredAt;
+
+    // Time from the question being asked to the answer arriving; null without askedAt
+    @Column(name = "latency_ms")
+    private Long latencyMs;
+}
@@ -46,4 +46,8 @@ public class ApiException extends RuntimeException {
     public static ApiException internal(String message, String path) {
         return new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, message, path);
     }
+
+    public static ApiException serviceUnavailable(String message, String path) {
+        return new ApiException(HttpStatus.SERVICE_UNAVAILABLE, message, path);
+    }
 }
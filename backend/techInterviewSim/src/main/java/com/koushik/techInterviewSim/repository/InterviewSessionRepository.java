@@ -2,9 +2,14 @@ package com.koushik.techInterviewSim.repository;
 
 import com.koushik.techInterviewSim.entity.InterviewSession;
 import com.koushik.techInterviewSim.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -20,8 +25,71 @@ public interface InterviewSessionRepository extends JpaRepository<InterviewSessi
     // Find all sessions for a user with pagination
     Page<InterviewSession> findByUser(User user, Pageable pageable);
 
-    // Find active session for a user
-    Optional<InterviewSession> findByUserAndStatus(User user, InterviewSession.InterviewStatus status);
+    // Loads and row-locks the session in one SELECT ... FOR UPDATE
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<InterviewSession> findForUpdateById(Long id);
+
+    // Confirms a registry hit before a start is refused; a primary-key probe
+    boolean existsByIdAndStatus(Long id, InterviewSession.InterviewStatus status);
+
+    // (user id, session id) of every session in the given status, to warm the active-session registry
+    @Query("SELECT s.user.id, s.id FROM InterviewSession s WHERE s.status = :status")
+    List<Object[]> findSessionIdsByStatus(@Param("status") InterviewSession.InterviewStatus status);
+
+    // Moves a session out of one status in a single statement, so the check cannot go stale
+    // before the write; 0 means the session is missing or not in that status
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE InterviewSession s SET s.status = :to, s.endTime = :endTime, s.activeUserId = NULL " +
+           "WHERE s.id = :id AND s.status = :from")
+    int transition(
+            @Param("id") Long id,
+            @Param("from") InterviewSession.InterviewStatus from,
+            @Param("to") InterviewSession.InterviewStatus to,
+            @Param("endTime") LocalDateTime endTime
+    );
+
+    // (id, user id) of sessions in a status since before the cutoff, in id order after the
+    // given id. Projected, so no entities are loaded; active_user_id is set exactly for
+    // in-progress sessions, so its unique index narrows the scan to them
+    @Query("SELECT s.id, s.user.id FROM InterviewSession s " +
+           "WHERE s.activeUserId IS NOT NULL AND s.status = :status AND s.startTime < :cutoff AND s.id > :afterId " +
+           "ORDER BY s.id")
+    List<Object[]> findIdsStartedBefore(
+            @Param("status") InterviewSession.InterviewStatus status,
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("afterId") Long afterId,
+            Pageable limit
+    );
+
+    // Bulk form of transition for a chunk of ids; rows that changed since they were
+    // selected no longer match and are left alone
+    @Modifying
+    @Query("UPDATE InterviewSession s SET s.status = :to, s.endTime = :endTime, s.activeUserId = NULL " +
+           "WHERE s.id IN :ids AND s.status = :from AND s.startTime < :cutoff")
+    int transitionStartedBefore(
+            @Param("ids") List<Long> ids,
+            @Param("from") InterviewSession.InterviewStatus from,
+            @Param("to") InterviewSession.InterviewStatus to,
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("endTime") LocalDateTime endTime
+    );
+
+    // Rows from before active_user_id existed: every active session but each user's newest is superseded
+    @Modifying
+    @Query("UPDATE InterviewSession s SET s.status = :to, s.endTime = :endTime " +
+           "WHERE s.status = :active AND s.activeUserId IS NULL AND EXISTS (" +
+           "SELECT 1 FROM InterviewSession n WHERE n.user = s.user AND n.status = :active AND n.id > s.id)")
+    int supersedeUnclaimedSessions(
+            @Param("active") InterviewSession.InterviewStatus active,
+            @Param("to") InterviewSession.InterviewStatus to,
+            @Param("endTime") LocalDateTime endTime
+    );
+
+    // ...and each survivor is brought under the unique constraint
+    @Modifying
+    @Query("UPDATE InterviewSession s SET s.activeUserId = s.user.id " +
+           "WHERE s.status = :active AND s.activeUserId IS NULL")
+    int claimUnclaimedSessions(@Param("active") InterviewSession.InterviewStatus active);
 
     // Find sessions between date range
     List<InterviewSession> findByStartTimeBetween(LocalDateTime start, LocalDateTime end);
@@ -29,6 +97,27 @@ public interface InterviewSessionRepository extends JpaRepository<InterviewSessi
     // Find sessions by status
     List<InterviewSession> findByStatus(InterviewSession.InterviewStatus status);
 
+    // Per-session question bitmaps; their union is what the user has already been asked
+    @Query("SELECT s.askedQuestions FROM InterviewSession s " +
+           "WHERE s.user.id = :userId AND s.askedQuestions IS NOT NULL")
+    List<byte[]> findAskedQuestionsByUserId(@Param("userId") Long userId);
+
+    // Keyset listing, newest first; every started session has a start time
+    @Query("SELECT s FROM InterviewSession s JOIN FETCH s.user " +
+           "WHERE s.startTime IS NOT NULL " +
+           "ORDER BY s.startTime DESC, s.id DESC")
+    List<InterviewSession> findNewest(Pageable limit);
+
+    @Query("SELECT s FROM InterviewSession s JOIN FETCH s.user " +
+           // The leading range bound lets the index seek to the cursor instead of scanning past it
+           "WHERE s.startTime <= :startTime AND (s.startTime < :startTime OR s.id < :id) " +
+           "ORDER BY s.startTime DESC, s.id DESC")
+    List<InterviewSession> findOlderThan(
+            @Param("startTime") LocalDateTime startTime,
+            @Param("id") Long id,
+            Pageable limit
+    );
+
     // Find most recent session for a user
     Optional<InterviewSession> findFirstByUserOrderByStartTimeDesc(User user);
 }
@@ -3,12 +3,15 @@ package com.koushik.techInterviewSim.repository;
 import com.koushik.techInterviewSim.entity.Question;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface QuestionRepository extends JpaRepository<Question, Long> {
@@ -28,17 +31,12 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
     // Find questions with pagination
     Page<Question> findByCategory(Question.QuestionCategory category, Pageable pageable);
 
-    // Find random questions by category and difficulty
-    @Query(value = "SELECT * FROM questions " +
-           "WHERE category = :category AND difficulty = :difficulty " +
-           "ORDER BY RANDOM() LIMIT :limit", 
-           nativeQuery = true)
-    List<Question> findRandomQuestions(
-            @Param("category") String category,
-            @Param("difficulty") String difficulty,
-            @Param("limit") int limit
-    );
-
-    // Search questions by text containing keyword
-    List<Question> findByTextContainingIgnoreCase(String keyword);
+    // Cursor over the whole bank for exports; must be consumed inside a transaction and closed.
+    // Read-only entities skip dirty-checking snapshots.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT q FROM Question q ORDER BY q.id")
+    Stream<Question> streamAllOrderedById();
 }
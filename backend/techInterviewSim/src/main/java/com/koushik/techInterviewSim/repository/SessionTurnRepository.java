@@ -0,0 +1,17 @@
+package com.koushik.techInterviewSim.repository;
+
+import com.koushik.techInterviewSim.entity.SessionTurn;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SessionTurnRepository extends JpaRepository<SessionTurn, Long> {
+
+    // Answer times order the transcript even if a failed batch was retried; ids break ties
+    @Query("SELECT t FROM SessionTurn t WHERE t.session.id = :sessionId ORDER BY t.answeredAt, t.id")
+    List<SessionTurn> findTranscript(@Param("sessionId") Long sessionId);
+}
@@ -1,9 +1,13 @@
 package com.koushik.techInterviewSim.repository;
 
 import com.koushik.techInterviewSim.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -20,4 +24,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     // Method to check if an email exists
     Boolean existsByEmail(String email);
+
+    // Keyset listing by id
+    @Query("SELECT u FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<User> findAfter(@Param("afterId") Long afterId, Pageable limit);
 }
@@ -0,0 +1,95 @@
+package com.koushik.techInterviewSim.security;
+
+import com.koushik.techInterviewSim.exception.ApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket limits for the password endpoints under /api/auth, which are public
+ * and spend a BCrypt hash per call. Client IPs are checked as an interceptor before
+ * the body is read; usernames are checked by {@code AuthController} once bound.
+ */
+@Slf4j
+@Component
+public class AuthRateLimiter implements HandlerInterceptor {
+
+    private final TokenBucketLimiter ipLimiter;
+    private final TokenBucketLimiter usernameLimiter;
+    private final Counter ipRejections;
+    private final Counter usernameRejections;
+
+    public AuthRateLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${app.rate-limit.auth.ip.capacity:20}") int ipCapacity,
+            @Value("${app.rate-limit.auth.ip.refill-per-minute:20}") int ipRefillPerMinute,
+            @Value("${app.rate-limit.auth.username.capacity:5}") int usernameCapacity,
+            @Value("${app.rate-limit.auth.username.refill-per-minute:5}") int usernameRefillPerMinute) {
+        this.ipLimiter = new TokenBucketLimiter(ipCapacity, ipRefillPerMinute);
+        this.usernameLimiter = new TokenBucketLimiter(usernameCapacity, usernameRefillPerMinute);
+
+        this.ipRejections = Counter.builder("auth.ratelimit.rejected")
+                .tag("key", "ip")
+                .register(meterRegistry);
+        this.usernameRejections = Counter.builder("auth.ratelimit.rejected")
+                .tag("key", "username")
+                .register(meterRegistry);
+        Gauge.builder("auth.ratelimit.buckets", ipLimiter, TokenBucketLimiter::size)
+                .tag("key", "ip")
+                .register(meterRegistry);
+        Gauge.builder("auth.ratelimit.buckets", usernameLimiter, TokenBucketLimiter::size)
+                .tag("key", "username")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long waitNanos = ipLimiter.tryAcquire(request.getRemoteAddr());
+        if (waitNanos > 0) {
+            ipRejections.increment();
+            throw tooManyRequests(request.getRequestURI(), waitNanos);
+        }
+        return true;
+    }
+
+    public void checkUsername(String username, String path) {
+        if (username == null) {
+            return;
+        }
+        long waitNanos = usernameLimiter.tryAcquire(username.toLowerCase(Locale.ROOT));
+        if (waitNanos > 0) {
+            usernameRejections.increment();
+            throw tooManyRequests(path, waitNanos);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.auth.eviction-interval:60000}")
+    void evictIdleBuckets() {
+        int evicted = ipLimiter.evictIdle() + usernameLimiter.evictIdle();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle auth rate-limit buckets", evicted);
+        }
+    }
+
+    private static ApiException tooManyRequests(String path, long waitNanos) {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+        return new ApiException(
+            HttpStatus.TOO_MANY_REQUESTS,
+            "Too many authentication attempts, please retry later",
+            path,
+            Map.of("retryAfterSeconds", retryAfter)
+        );
+    }
+}
@@ -1,40 +1,119 @@
 package com.koushik.techInterviewSim.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.koushik.techInterviewSim.entity.User;
 import com.koushik.techInterviewSim.exception.ApiException;
 import com.koushik.techInterviewSim.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.user-cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${app.user-cache.ttl:5m}")
+    private Duration cacheTtl;
+
+    // Principals keyed by username; only hits skip the findByUsername + user_roles query
+    private Cache<String, UserPrincipal> principals;
+
+    @PostConstruct
+    void init() {
+        principals = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "userPrincipals");
+    }
 
     @Override
-    @Transactional(readOnly = true)
-    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new ApiException(
-                    HttpStatus.NOT_FOUND,
-                    "User not found with username: " + username,
-                    "/api/auth/login"
-                ));
+    public UserPrincipal loadUserByUsername(String username) throws UsernameNotFoundException {
+        UserPrincipal principal = principals.get(username, key -> userRepository.findByUsername(key)
+                .map(UserPrincipal::from)
+                .orElse(null));
+
+        if (principal == null) {
+            throw new UsernameNotFoundException("User not found with username: " + username);
+        }
+        return principal;
     }
 
     @Transactional(readOnly = true)
     public UserDetails loadUserById(Long id) {
         return userRepository.findById(id)
+                .map(UserPrincipal::from)
                 .orElseThrow(() -> new ApiException(
                     HttpStatus.NOT_FOUND,
                     "User not found with id: " + id,
                     "/api/users/" + id
                 ));
     }
+
+    /**
+     * Called by the authentication provider after a successful login whose stored
+     * hash uses an outdated BCrypt cost, with the password re-encoded at the current cost.
+     * Login holds no transaction, so this is a short one of its own.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = userRepository.findByUsername(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException(
+                    "User not found with username: " + user.getUsername()));
+
+        entity.setPassword(newPassword);
+        userRepository.save(entity);
+        evict(entity.getUsername());
+
+        return UserPrincipal.from(entity);
+    }
+
+    /**
+     * Drops the cached principal now and again once the surrounding transaction
+     * commits, so a concurrent load cannot re-cache the pre-update row.
+     */
+    public void evict(String username) {
+        principals.invalidate(username);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principals.invalidate(username);
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        principals.invalidateAll();
+    }
+
+    public CacheStats getCacheStats() {
+        return principals.stats();
+    }
 }
@@ -0,0 +1,215 @@
+package com.koushik.techInterviewSim.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory Supabase JWKS indexed by {@code kid}. Lookups only read the current
+ * immutable snapshot; fetching happens on a background thread, either on schedule
+ * shortly before the snapshot goes stale or when a token names an unknown key.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JwksKeySet {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${supabase.jwt.jwks.uri:}")
+    private String jwksUri;
+
+    @Value("${supabase.jwt.jwks.ttl:10m}")
+    private Duration ttl;
+
+    @Value("${supabase.jwt.jwks.min-refetch-interval:30s}")
+    private Duration minRefetchInterval;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final AtomicLong lastUnknownKidRefetch = new AtomicLong();
+
+    private volatile KeySnapshot snapshot = KeySnapshot.EMPTY;
+
+    private HttpClient httpClient;
+    private ExecutorService fetcher;
+
+    @PostConstruct
+    void init() {
+        if (!isEnabled()) {
+            log.info("No Supabase JWKS URI configured, asymmetric Supabase tokens are disabled");
+            return;
+        }
+        fetcher = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("jwks-refresh-"));
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        requestRefresh();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (fetcher != null) {
+            fetcher.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return StringUtils.hasText(jwksUri);
+    }
+
+    /**
+     * Returns the key for {@code kid} from the current snapshot, never blocking.
+     * An unknown kid schedules at most one throttled background refetch.
+     */
+    public PublicKey getKey(String kid) {
+        if (kid == null) {
+            return null;
+        }
+        PublicKey key = snapshot.keys().get(kid);
+        // A fetch already in flight may bring the key; don't spend the throttle on it
+        if (key == null && isEnabled() && !refreshing.get()) {
+            long now = System.currentTimeMillis();
+            long last = lastUnknownKidRefetch.get();
+            if (now - last >= minRefetchInterval.toMillis()
+                    && lastUnknownKidRefetch.compareAndSet(last, now)) {
+                log.debug("Unknown JWKS kid {}, scheduling refetch", kid);
+                requestRefresh();
+            }
+        }
+        return key;
+    }
+
+    @Scheduled(fixedDelayString = "${supabase.jwt.jwks.check-interval:30000}")
+    void refreshIfDue() {
+        if (isEnabled() && Instant.now().isAfter(snapshot.refreshAt())) {
+            requestRefresh();
+        }
+    }
+
+    /**
+     * Starts a background fetch unless one is already running.
+     */
+    void requestRefresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            fetcher.execute(() -> {
+                try {
+                    refresh();
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (RuntimeException ex) {
+            refreshing.set(false);
+            log.warn("Could not schedule JWKS refresh: {}", ex.getMessage());
+        }
+    }
+
+    void refresh() {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(jwksUri))
+                    .timeout(Duration.ofSeconds(10))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                log.warn("JWKS fetch from {} returned HTTP {}", jwksUri, response.statusCode());
+                return;
+            }
+
+            Map<String, PublicKey> keys = parseKeys(response.body());
+            Instant now = Instant.now();
+            // Refresh at three quarters of the lifetime so the set never actually lapses
+            snapshot = new KeySnapshot(Map.copyOf(keys), now.plus(ttl.multipliedBy(3).dividedBy(4)));
+            log.debug("Loaded {} JWKS signing keys", keys.size());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            // Keep serving the previous snapshot; the next check retries
+            log.warn("JWKS fetch from {} failed: {}", jwksUri, ex.getMessage());
+        }
+    }
+
+    private Map<String, PublicKey> parseKeys(String body) throws Exception {
+        Map<String, PublicKey> keys = new HashMap<>();
+        for (JsonNode jwk : objectMapper.readTree(body).path("keys")) {
+            String kid = jwk.path("kid").asText(null);
+            String use = jwk.path("use").asText("sig");
+            if (kid == null || !"sig".equals(use)) {
+                continue;
+            }
+            try {
+                PublicKey key = toPublicKey(jwk);
+                if (key != null) {
+                    keys.put(kid, key);
+                }
+            } catch (GeneralSecurityException | IllegalArgumentException ex) {
+                log.warn("Skipping unusable JWKS key {}: {}", kid, ex.getMessage());
+            }
+        }
+        return keys;
+    }
+
+    private static PublicKey toPublicKey(JsonNode jwk) throws GeneralSecurityException {
+        switch (jwk.path("kty").asText()) {
+            case "RSA": {
+                RSAPublicKeySpec spec = new RSAPublicKeySpec(unsigned(jwk, "n"), unsigned(jwk, "e"));
+                return KeyFactory.getInstance("RSA").generatePublic(spec);
+            }
+            case "EC": {
+                if (!"P-256".equals(jwk.path("crv").asText())) {
+                    return null;
+                }
+                AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+                parameters.init(new ECGenParameterSpec("secp256r1"));
+                ECPoint point = new ECPoint(unsigned(jwk, "x"), unsigned(jwk, "y"));
+                ECPublicKeySpec spec = new ECPublicKeySpec(point, parameters.getParameterSpec(ECParameterSpec.class));
+                return KeyFactory.getInstance("EC").generatePublic(spec);
+            }
+            default:
+                return null;
+        }
+    }
+
+    private static BigInteger unsigned(JsonNode jwk, String field) {
+        return new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path(field).asText()));
+    }
+
+    private record KeySnapshot(Map<String, PublicKey> keys, Instant refreshAt) {
+        static final KeySnapshot EMPTY = new KeySnapshot(Map.of(), Instant.EPOCH);
+    }
+}
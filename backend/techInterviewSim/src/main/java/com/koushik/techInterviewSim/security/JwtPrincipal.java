@@ -0,0 +1,23 @@
+package com.koushik.techInterviewSim.security;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Claims extracted from an application JWT after a single verify-and-parse pass.
+ * Tokens without a type claim predate the access/refresh split and count as access tokens.
+ */
+public record JwtPrincipal(String subject, String tokenId, String type, Instant expiresAt, Set<String> roles) {
+
+    public static final String ACCESS = "access";
+    public static final String REFRESH = "refresh";
+
+    public JwtPrincipal {
+        type = type == null ? ACCESS : type;
+        roles = roles == null ? Set.of() : Set.copyOf(roles);
+    }
+
+    public boolean isRefresh() {
+        return REFRESH.equals(type);
+    }
+}
@@ -3,59 +3,101 @@ package com.koushik.techInterviewSim.security;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 @Slf4j
 @Component
 public class JwtTokenProvider {
 
+    private static final String ROLES_CLAIM = "roles";
+    private static final String TYPE_CLAIM = "typ";
+
     @Value("${app.jwt.secret}")
     private String jwtSecret;
 
     @Value("${app.jwt.expiration}")
     private int jwtExpirationInMs;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @Value("${app.jwt.refresh-expiration:604800000}")
+    private long refreshExpirationInMs;
+
+    // Key and parser are immutable and thread-safe, so build them once
+    private Key signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
     public String generateToken(Authentication authentication) {
-        UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
+        return generateToken((UserDetails) authentication.getPrincipal());
+    }
 
-        return Jwts.builder()
-                .setSubject(userPrincipal.getUsername())
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+    public String generateToken(UserDetails userPrincipal) {
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+
+        return build(userPrincipal.getUsername(), JwtPrincipal.ACCESS, jwtExpirationInMs)
+                .claim(ROLES_CLAIM, roles)
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Long-lived token that can only be exchanged at /api/auth/refresh. Each one carries
+     * a unique id so it can be revoked when it is rotated.
+     */
+    public String generateRefreshToken(UserDetails userPrincipal) {
+        return build(userPrincipal.getUsername(), JwtPrincipal.REFRESH, refreshExpirationInMs)
+                .compact();
+    }
+
+    private JwtBuilder build(String subject, String type, long expirationInMs) {
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + expirationInMs);
 
-        return claims.getSubject();
+        return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .setSubject(subject)
+                .claim(TYPE_CLAIM, type)
+                .setIssuedAt(now)
+                .setExpiration(expiryDate)
+                .signWith(signingKey, SignatureAlgorithm.HS512);
     }
 
-    public boolean validateToken(String authToken) {
+    /**
+     * Verifies the signature and expiry once and returns the extracted claims,
+     * or empty if the token is not valid.
+     */
+    public Optional<JwtPrincipal> parseToken(String authToken) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(authToken);
-            return true;
+            Claims claims = parser.parseClaimsJws(authToken).getBody();
+            return Optional.of(new JwtPrincipal(
+                claims.getSubject(),
+                claims.getId(),
+                claims.get(TYPE_CLAIM, String.class),
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                rolesOf(claims)
+            ));
         } catch (SignatureException ex) {
             log.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -67,6 +109,25 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty");
         }
-        return false;
+        return Optional.empty();
+    }
+
+    public String getUsernameFromToken(String token) {
+        return parseToken(token)
+                .map(JwtPrincipal::subject)
+                .orElse(null);
+    }
+
+    public boolean validateToken(String authToken) {
+        return parseToken(authToken).isPresent();
+    }
+
+    private static Set<String> rolesOf(Claims claims) {
+        Object roles = claims.get(ROLES_CLAIM);
+        Set<String> result = new HashSet<>();
+        if (roles instanceof Collection<?> values) {
+            values.forEach(value -> result.add(String.valueOf(value)));
+        }
+        return result;
     }
 }
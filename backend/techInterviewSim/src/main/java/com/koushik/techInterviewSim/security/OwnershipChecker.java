@@ -0,0 +1,43 @@
+package com.koushik.techInterviewSim.security;
+
+import com.koushik.techInterviewSim.repository.InterviewSessionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ownership rules for {@code @PreAuthorize} expressions, e.g.
+ * {@code @ownership.isSelf(#id, authentication)}.
+ * User checks compare against the cached principal id and never hit the database.
+ * Session checks load the session once; with open-in-view the handler's own
+ * {@code findById} for the same id is then served from the request's persistence context.
+ */
+@Component("ownership")
+@RequiredArgsConstructor
+public class OwnershipChecker {
+
+    private final InterviewSessionRepository sessionRepository;
+
+    public boolean isSelf(Long userId, Authentication authentication) {
+        Long principalId = principalId(authentication);
+        return principalId != null && principalId.equals(userId);
+    }
+
+    public boolean ownsSession(Long sessionId, Authentication authentication) {
+        Long principalId = principalId(authentication);
+        if (principalId == null || sessionId == null) {
+            return false;
+        }
+        // getUser().getId() reads the foreign key from the lazy proxy without loading the user
+        return sessionRepository.findById(sessionId)
+                .map(session -> principalId.equals(session.getUser().getId()))
+                .orElse(false);
+    }
+
+    private static Long principalId(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+}
@@ -1,5 +1,8 @@
 package com.koushik.techInterviewSim.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -18,6 +21,7 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import lombok.RequiredArgsConstructor;
 
+import java.time.Duration;
 import java.util.List;
 
 @Configuration
@@ -26,7 +30,18 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SecurityConfig {
 
-    private final SupabaseAuthenticationFilter supabaseAuthenticationFilter;
+    // Endpoints reachable without a token; TokenAuthenticationFilter skips these too
+    static final String[] PUBLIC_PATHS = {
+        "/",
+        "/api-docs/**",
+        "/swagger-ui/**",
+        "/swagger-ui.html",
+        "/actuator/health",
+        "/h2-console/**",
+        "/api/auth/**"
+    };
+
+    private final TokenAuthenticationFilter tokenAuthenticationFilter;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -40,22 +55,25 @@ public class SecurityConfig {
                 session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
                 // Public endpoints
-                .requestMatchers(
-                    "/",
-                    "/api-docs/**",
-                    "/swagger-ui/**",
-                    "/swagger-ui.html",
-                    "/actuator/health",
-                    "/h2-console/**",
-                    "/api/auth/**"
-                ).permitAll()
+                .requestMatchers(PUBLIC_PATHS).permitAll()
+                // Cache and pool metrics
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 // Secure all other endpoints
                 .anyRequest().authenticated()
             )
-            .addFilterBefore(supabaseAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(tokenAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
             .build();
     }
 
+    @Bean
+    public FilterRegistrationBean<TokenAuthenticationFilter> tokenAuthenticationFilterRegistration(
+            TokenAuthenticationFilter filter) {
+        // Run only inside the security chain, not also as a plain servlet filter
+        FilterRegistrationBean<TokenAuthenticationFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -76,7 +94,18 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${app.password-hashing.strength:10}") int strength,
+            @Value("${app.password-hashing.threads:2}") int threads,
+            @Value("${app.password-hashing.queue-capacity:32}") int queueCapacity,
+            @Value("${app.password-hashing.timeout:5s}") Duration timeout) {
+        return new BoundedPasswordEncoder(
+            new BCryptPasswordEncoder(strength),
+            threads,
+            queueCapacity,
+            timeout,
+            meterRegistry
+        );
     }
 }
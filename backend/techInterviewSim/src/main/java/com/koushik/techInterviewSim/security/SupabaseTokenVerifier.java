@@ -2,47 +2,118 @@ package com.koushik.techInterviewSim.security;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.AlgorithmMismatchException;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.auth0.jwt.interfaces.ECDSAKeyProvider;
 import com.auth0.jwt.interfaces.JWTVerifier;
+import com.auth0.jwt.interfaces.RSAKeyProvider;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.security.interfaces.RSAPublicKey; // Assuming RSA, adjust if needed
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class SupabaseTokenVerifier {
 
+    private final MeterRegistry meterRegistry;
+    private final JwksKeySet jwksKeySet;
+
     @Value("${supabase.jwt.secret}")
     private String jwtSecret;
 
     @Value("${supabase.project-url}")
     private String supabaseProjectUrl;
 
+    @Value("${supabase.jwt.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    // Built once per algorithm; the auth0 verifiers are immutable and thread-safe
+    private JWTVerifier hmacVerifier;
+    private JWTVerifier rsaVerifier;
+    private JWTVerifier ecVerifier;
+    private String issuer;
+
+    // Verified tokens keyed by SHA-256 digest, each entry expiring with the token's own exp claim
+    private Cache<String, DecodedJWT> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        // Legacy projects sign with the shared HS256 secret, newer ones with
+        // asymmetric keys published in the project's JWKS (resolved by kid)
+        issuer = supabaseProjectUrl + "/auth/v1";
+        hmacVerifier = verifierFor(Algorithm.HMAC256(jwtSecret));
+        rsaVerifier = verifierFor(Algorithm.RSA256(new JwksRsaKeyProvider()));
+        ecVerifier = verifierFor(Algorithm.ECDSA256(new JwksEcKeyProvider()));
+
+        verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(cacheMaxSize)
+            .expireAfter(new TokenExpiry())
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "supabaseTokens");
+    }
+
     public DecodedJWT verifyToken(String token) {
+        return verify(token, () -> {
+            DecodedJWT decoded = JWT.decode(token);
+            return verifierFor(decoded).verify(decoded);
+        });
+    }
+
+    /**
+     * Verifies a token the caller has already decoded, avoiding a second parse.
+     */
+    public DecodedJWT verifyToken(DecodedJWT decoded) {
+        return verify(decoded.getToken(), () -> verifierFor(decoded).verify(decoded));
+    }
+
+    /**
+     * Whether the (still unverified) token claims to come from this Supabase project.
+     */
+    public boolean isIssuedBy(DecodedJWT decoded) {
+        return issuer.equals(decoded.getIssuer());
+    }
+
+    private DecodedJWT verify(String token, Supplier<DecodedJWT> verification) {
+        String key = digest(token);
+        DecodedJWT cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
         try {
-            // Note: Supabase typically uses HS256. If using a different algorithm (like RSA),
-            // you'll need to fetch the public key and use Algorithm.RSA256(publicKey, null) etc.
-            Algorithm algorithm = Algorithm.HMAC256(jwtSecret);
-            
-            JWTVerifier verifier = JWT.require(algorithm)
-                .withIssuer(supabaseProjectUrl + "/auth/v1") // Verify issuer based on project URL
-                .build(); 
-
-            DecodedJWT decodedJWT = verifier.verify(token);
-
-            // Optional: Add more checks like audience if needed
-            // .withAudience("authenticated") 
-
-            // Check expiration
-            if (decodedJWT.getExpiresAt().before(new Date())) {
-                log.error("Supabase token has expired");
+            DecodedJWT decodedJWT = verification.get();
+
+            // Reject tokens without an expiry, they could never be evicted
+            if (decodedJWT.getExpiresAt() == null || decodedJWT.getExpiresAt().before(new Date())) {
+                log.error("Supabase token has expired or has no expiry");
                 return null;
             }
 
-            log.info("Supabase token verified successfully for subject: {}", decodedJWT.getSubject());
+            verifiedTokens.put(key, decodedJWT);
+            log.debug("Supabase token verified successfully for subject: {}", decodedJWT.getSubject());
             return decodedJWT;
 
         } catch (Exception exception){
@@ -55,4 +126,89 @@ public class SupabaseTokenVerifier {
          DecodedJWT decodedJWT = verifyToken(token);
          return (decodedJWT != null) ? decodedJWT.getSubject() : null;
     }
+
+    public CacheStats getCacheStats() {
+        return verifiedTokens.stats();
+    }
+
+    private JWTVerifier verifierFor(Algorithm algorithm) {
+        return JWT.require(algorithm)
+            .withIssuer(issuer) // Verify issuer based on project URL
+            .build();
+    }
+
+    private JWTVerifier verifierFor(DecodedJWT decoded) {
+        return switch (decoded.getAlgorithm()) {
+            case "HS256" -> hmacVerifier;
+            case "RS256" -> rsaVerifier;
+            case "ES256" -> ecVerifier;
+            default -> throw new AlgorithmMismatchException(
+                "Unsupported Supabase token algorithm: " + decoded.getAlgorithm());
+        };
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private final class JwksRsaKeyProvider implements RSAKeyProvider {
+
+        @Override
+        public RSAPublicKey getPublicKeyById(String keyId) {
+            return jwksKeySet.getKey(keyId) instanceof RSAPublicKey key ? key : null;
+        }
+
+        @Override
+        public RSAPrivateKey getPrivateKey() {
+            return null;
+        }
+
+        @Override
+        public String getPrivateKeyId() {
+            return null;
+        }
+    }
+
+    private final class JwksEcKeyProvider implements ECDSAKeyProvider {
+
+        @Override
+        public ECPublicKey getPublicKeyById(String keyId) {
+            return jwksKeySet.getKey(keyId) instanceof ECPublicKey key ? key : null;
+        }
+
+        @Override
+        public ECPrivateKey getPrivateKey() {
+            return null;
+        }
+
+        @Override
+        public String getPrivateKeyId() {
+            return null;
+        }
+    }
+
+    private static final class TokenExpiry implements Expiry<String, DecodedJWT> {
+
+        @Override
+        public long expireAfterCreate(String key, DecodedJWT jwt, long currentTime) {
+            long remainingMs = jwt.getExpiresAt().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, DecodedJWT jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, DecodedJWT jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
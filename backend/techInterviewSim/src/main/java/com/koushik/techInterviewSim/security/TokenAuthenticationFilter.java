@@ -0,0 +1,122 @@
+package com.koushik.techInterviewSim.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.exceptions.JWTDecodeException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+
+/**
+ * Single bearer-token filter for both application JWTs and Supabase JWTs.
+ * The token is decoded once to read its issuer and then verified by exactly one verifier.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    // Compiled once from the same list SecurityConfig permits
+    private static final PathPattern[] PUBLIC_PATTERNS = compile(SecurityConfig.PUBLIC_PATHS);
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final SupabaseTokenVerifier supabaseTokenVerifier;
+    private final TokenRevocationService revocationService;
+    private final UserDetailsService userDetailsService;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(
+            request.getRequestURI().substring(request.getContextPath().length()));
+        for (PathPattern pattern : PUBLIC_PATTERNS) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                  FilterChain filterChain) throws ServletException, IOException {
+        String token = getJwtFromRequest(request);
+
+        if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            try {
+                String username = resolveUsername(token);
+
+                if (username != null) {
+                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+
+                    UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            userDetails.getAuthorities()
+                        );
+
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
+            } catch (JWTDecodeException ex) {
+                log.debug("Malformed bearer token: {}", ex.getMessage());
+            } catch (Exception ex) {
+                log.error("Could not set user authentication in security context", ex);
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private String resolveUsername(String token) {
+        // Header and claims only; the signature is checked by the chosen verifier
+        DecodedJWT decoded = JWT.decode(token);
+
+        if (supabaseTokenVerifier.isIssuedBy(decoded)) {
+            DecodedJWT verified = supabaseTokenVerifier.verifyToken(decoded);
+            return verified != null ? verified.getSubject() : null;
+        }
+
+        // Refresh tokens are only accepted by /api/auth/refresh, never as bearer credentials
+        return jwtTokenProvider.parseToken(token)
+                .filter(principal -> !principal.isRefresh())
+                .filter(principal -> !revocationService.isRevoked(principal.tokenId()))
+                .map(JwtPrincipal::subject)
+                .orElse(null);
+    }
+
+    private String getJwtFromRequest(HttpServletRequest request) {
+        String bearerToken = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(BEARER_PREFIX)) {
+            return bearerToken.substring(BEARER_PREFIX.length());
+        }
+        return null;
+    }
+
+    private static PathPattern[] compile(String[] paths) {
+        PathPattern[] patterns = new PathPattern[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            patterns[i] = PathPatternParser.defaultInstance.parse(paths[i]);
+        }
+        return patterns;
+    }
+}
@@ -0,0 +1,106 @@
+package com.koushik.techInterviewSim.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-key token buckets guarded by a fixed set of striped locks. A bucket is a pair
+ * of primitives updated in place, so an admitted request allocates nothing once its
+ * key has been seen. Buckets that have refilled completely carry no state and are
+ * dropped by {@link #evictIdle()}.
+ */
+public class TokenBucketLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final int capacity;
+    private final long nanosPerToken;
+    private final LongSupplier clock;
+    private final Object[] locks = new Object[STRIPES];
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public TokenBucketLimiter(int capacity, int refillPerMinute) {
+        this(capacity, refillPerMinute, System::nanoTime);
+    }
+
+    TokenBucketLimiter(int capacity, int refillPerMinute, LongSupplier clock) {
+        this.capacity = capacity;
+        this.nanosPerToken = TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+        this.clock = clock;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Takes one token for {@code key}.
+     *
+     * @return 0 if the call is admitted, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        synchronized (lockFor(key)) {
+            Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(capacity, now));
+            bucket.refill(now, capacity, nanosPerToken);
+            if (bucket.tokens > 0) {
+                bucket.tokens--;
+                return 0;
+            }
+            return nanosPerToken - (now - bucket.refilledAt);
+        }
+    }
+
+    /**
+     * Removes buckets that would be full by now; recreating them later is equivalent.
+     */
+    public int evictIdle() {
+        long now = clock.getAsLong();
+        int evicted = 0;
+        for (String key : buckets.keySet()) {
+            synchronized (lockFor(key)) {
+                Bucket bucket = buckets.get(key);
+                if (bucket != null && now - bucket.refilledAt >= (capacity - bucket.tokens) * nanosPerToken) {
+                    buckets.remove(key);
+                    evicted++;
+                }
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private Object lockFor(String key) {
+        return locks[(key.hashCode() & 0x7fffffff) % STRIPES];
+    }
+
+    private static final class Bucket {
+        private long tokens;
+        private long refilledAt;
+
+        private Bucket(long tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+
+        private void refill(long now, int capacity, long nanosPerToken) {
+            long elapsed = now - refilledAt;
+            if (elapsed < nanosPerToken) {
+                return;
+            }
+            long earned = elapsed / nanosPerToken;
+            if (tokens + earned >= capacity) {
+                tokens = capacity;
+                refilledAt = now;
+            } else {
+                tokens += earned;
+                // Keep the remainder so partial intervals are not lost
+                refilledAt += earned * nanosPerToken;
+            }
+        }
+    }
+}
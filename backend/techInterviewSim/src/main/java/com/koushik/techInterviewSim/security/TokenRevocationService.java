@@ -0,0 +1,116 @@
+package com.koushik.techInterviewSim.security;
+
+import com.koushik.techInterviewSim.entity.RevokedToken;
+import com.koushik.techInterviewSim.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Revoked token ids live in the revoked_tokens table and in an in-memory Bloom filter.
+ * A negative filter answer (the normal case) settles a check without touching the
+ * database; only revoked ids and rare false positives are confirmed with a lookup.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    // Overlap between syncs so rows committed slightly out of order are not missed
+    private static final long SYNC_OVERLAP_SECONDS = 5;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${app.jwt.revocation.expected-entries:100000}")
+    private int expectedEntries;
+
+    @Value("${app.jwt.revocation.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    private volatile LocalDateTime syncedAt;
+
+    @PostConstruct
+    void init() {
+        rebuild();
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        return revokedTokenRepository.existsById(jti);
+    }
+
+    /**
+     * Records the revocation. Revoking an id that is already revoked fails with a
+     * {@link org.springframework.dao.DataIntegrityViolationException}, which makes
+     * refresh token rotation single-use even under concurrent requests.
+     */
+    @Transactional
+    public void revoke(String jti, Instant expiresAt) {
+        revokedTokenRepository.saveAndFlush(RevokedToken.builder()
+                .jti(jti)
+                .expiresAt(LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()))
+                .revokedAt(LocalDateTime.now())
+                .build());
+        addToFilterAfterCommit(jti);
+    }
+
+    // Pick up revocations written by other instances
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.sync-interval:30000}")
+    void syncRecentRevocations() {
+        LocalDateTime now = LocalDateTime.now();
+        BloomFilter current = filter;
+        revokedTokenRepository.findJtisRevokedSince(syncedAt.minusSeconds(SYNC_OVERLAP_SECONDS))
+                .forEach(current::put);
+        syncedAt = now;
+    }
+
+    // Bloom filters cannot forget, so drop expired rows and rebuild from what is left
+    @Scheduled(cron = "${app.jwt.revocation.purge-cron:0 0 * * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        log.debug("Purged {} expired token revocations", purged);
+        rebuild();
+    }
+
+    private void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> active = revokedTokenRepository.findActiveJtis(now);
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, active.size() * 2), falsePositiveRate);
+        active.forEach(rebuilt::put);
+        filter = rebuilt;
+        // A revocation committed after the snapshot may have gone into the old filter;
+        // from here on every commit puts into the new one, so one catch-up read closes the gap
+        LocalDateTime since = now.minusSeconds(SYNC_OVERLAP_SECONDS);
+        revokedTokenRepository.findJtisRevokedSince(since).forEach(rebuilt::put);
+        syncedAt = since;
+    }
+
+    // Only committed revocations enter the filter, and always the one current at commit time
+    private void addToFilterAfterCommit(String jti) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            filter.put(jti);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                filter.put(jti);
+            }
+        });
+    }
+}
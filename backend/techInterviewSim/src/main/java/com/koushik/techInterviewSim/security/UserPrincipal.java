@@ -0,0 +1,72 @@
+package com.koushik.techInterviewSim.security;
+
+import com.koushik.techInterviewSim.entity.User;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of a {@link User} used as the authenticated principal.
+ * Authorities are computed once so cached instances can be shared across requests.
+ */
+@Getter
+public final class UserPrincipal implements UserDetails {
+
+    private final Long id;
+    private final String username;
+    private final String email;
+    private final String password;
+    private final Set<String> roles;
+    private final List<GrantedAuthority> authorities;
+
+    private UserPrincipal(Long id, String username, String email, String password, Set<String> roles) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.password = password;
+        this.roles = Set.copyOf(roles);
+        this.authorities = this.roles.stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+    }
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(
+            user.getId(),
+            user.getUsername(),
+            user.getEmail(),
+            user.getPassword(),
+            user.getRoles()
+        );
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        // Keep the password hash out of logs
+        return "UserPrincipal[id=" + id + ", username=" + username + ", roles=" + roles + "]";
+    }
+}
@@ -0,0 +1,96 @@
+package com.koushik.techInterviewSim.service;
+
+import com.koushik.techInterviewSim.entity.InterviewSession.InterviewStatus;
+import com.koushik.techInterviewSim.repository.InterviewSessionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Each user's in-progress session as far as this instance knows, so starting a session
+ * needs no status query. The map is a hint: the unique constraint on
+ * {@code interview_sessions.active_user_id} is what actually keeps a user to one active
+ * session, including against other instances, and a hit is confirmed by primary key before
+ * a start is refused, in case the session was ended elsewhere.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ActiveSessionRegistry {
+
+    private final InterviewSessionRepository sessionRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    // Writes lock a single bin, reads never lock
+    private final ConcurrentMap<Long, Long> sessionByUser = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        // Sessions started before the constraint existed are not covered by it yet
+        int[] repaired = new TransactionTemplate(transactionManager).execute(status -> new int[] {
+            sessionRepository.supersedeUnclaimedSessions(
+                InterviewStatus.IN_PROGRESS, InterviewStatus.CANCELLED, LocalDateTime.now()),
+            sessionRepository.claimUnclaimedSessions(InterviewStatus.IN_PROGRESS)
+        });
+        if (repaired[0] > 0 || repaired[1] > 0) {
+            log.warn("Cancelled {} superseded active sessions and claimed {} for their users",
+                repaired[0], repaired[1]);
+        }
+
+        for (Object[] row : sessionRepository.findSessionIdsByStatus(InterviewStatus.IN_PROGRESS)) {
+            sessionByUser.put((Long) row[0], (Long) row[1]);
+        }
+        log.info("Active session registry warmed with {} sessions", sessionByUser.size());
+    }
+
+    /**
+     * The user's in-progress session last seen by this instance, or null.
+     */
+    public Long activeSession(Long userId) {
+        return sessionByUser.get(userId);
+    }
+
+    /**
+     * Records a started session once the surrounding transaction commits.
+     */
+    public void started(Long userId, Long sessionId) {
+        afterCommit(() -> sessionByUser.put(userId, sessionId));
+    }
+
+    /**
+     * Drops an ended session once the surrounding transaction commits. A newer session
+     * for the same user is left in place.
+     */
+    public void finished(Long userId, Long sessionId) {
+        afterCommit(() -> sessionByUser.remove(userId, sessionId));
+    }
+
+    /**
+     * Drops an entry found to be stale, e.g. a session ended by another instance.
+     */
+    public void forget(Long userId, Long sessionId) {
+        sessionByUser.remove(userId, sessionId);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -2,22 +2,28 @@ package com.koushik.techInterviewSim.service;
 
 import com.koushik.techInterviewSim.dto.auth.AuthResponse;
 import com.koushik.techInterviewSim.dto.auth.LoginRequest;
+import com.koushik.techInterviewSim.dto.auth.RefreshRequest;
 import com.koushik.techInterviewSim.dto.auth.RegisterRequest;
 import com.koushik.techInterviewSim.entity.User;
 import com.koushik.techInterviewSim.exception.ApiException;
 import com.koushik.techInterviewSim.repository.UserRepository;
+import com.koushik.techInterviewSim.security.CustomUserDetailsService;
+import com.koushik.techInterviewSim.security.JwtPrincipal;
 import com.koushik.techInterviewSim.security.JwtTokenProvider;
+import com.koushik.techInterviewSim.security.TokenRevocationService;
+import com.koushik.techInterviewSim.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Set;
 
 @Service
@@ -28,26 +34,12 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
+    private final TokenRevocationService revocationService;
+    private final CustomUserDetailsService userDetailsService;
 
-    @Transactional
+    // Not transactional: hashing takes longer than the insert and needs no connection
     public AuthResponse register(RegisterRequest request) {
-        // Check if username is already taken
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw ApiException.badRequest(
-                "Username is already taken",
-                "/api/auth/register"
-            );
-        }
-
-        // Check if email is already registered
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw ApiException.badRequest(
-                "Email is already registered",
-                "/api/auth/register"
-            );
-        }
-
-        // Create new user
+        // Create new user; the unique constraints on username and email reject duplicates
         User user = User.builder()
                 .username(request.getUsername())
                 .email(request.getEmail())
@@ -55,21 +47,19 @@ public class AuthService {
                 .roles(new HashSet<>(Set.of("ROLE_USER")))
                 .build();
 
-        userRepository.save(user);
-
-        // Generate authentication token
-        Authentication authentication = authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(
-                request.getUsername(),
-                request.getPassword()
-            )
-        );
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            throw duplicateUser(ex, request);
+        }
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = tokenProvider.generateToken(authentication);
+        // The password was just hashed and stored, no need to authenticate again
+        UserPrincipal principal = UserPrincipal.from(user);
+        String jwt = tokenProvider.generateToken(principal);
 
         return AuthResponse.success(
             jwt,
+            tokenProvider.generateRefreshToken(principal),
             user.getId(),
             user.getUsername(),
             user.getEmail(),
@@ -77,7 +67,7 @@ public class AuthService {
         );
     }
 
-    @Transactional(readOnly = true)
+    // Not transactional either: the password check runs without holding a connection
     public AuthResponse login(LoginRequest request) {
         Authentication authentication = authenticationManager.authenticate(
             new UsernamePasswordAuthenticationToken(
@@ -87,21 +77,101 @@ public class AuthService {
         );
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = tokenProvider.generateToken(authentication);
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
+
+        return AuthResponse.success(
+            tokenProvider.generateToken(user),
+            tokenProvider.generateRefreshToken(user),
+            user.getId(),
+            user.getUsername(),
+            user.getEmail(),
+            user.getRoles()
+        );
+    }
 
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new ApiException(
-                    HttpStatus.NOT_FOUND,
-                    "User not found with username: " + request.getUsername(),
-                    "/api/auth/login"
-                ));
+    /**
+     * Exchanges a refresh token for a new access/refresh pair. The presented token is
+     * revoked first, so each refresh token can be used exactly once.
+     */
+    public AuthResponse refresh(RefreshRequest request) {
+        JwtPrincipal refresh = parseRefreshToken(request.getRefreshToken(), "/api/auth/refresh");
+
+        try {
+            revocationService.revoke(refresh.tokenId(), refresh.expiresAt());
+        } catch (DataIntegrityViolationException ex) {
+            // Lost a race with another request presenting the same token
+            throw ApiException.unauthorized("Refresh token has been revoked", "/api/auth/refresh");
+        }
+
+        UserPrincipal user;
+        try {
+            user = userDetailsService.loadUserByUsername(refresh.subject());
+        } catch (UsernameNotFoundException ex) {
+            throw ApiException.unauthorized("User no longer exists", "/api/auth/refresh");
+        }
 
         return AuthResponse.success(
-            jwt,
+            tokenProvider.generateToken(user),
+            tokenProvider.generateRefreshToken(user),
             user.getId(),
             user.getUsername(),
             user.getEmail(),
             user.getRoles()
         );
     }
+
+    /**
+     * Revokes the refresh token and, when given, the access token it was paired with.
+     * Logging out twice is not an error.
+     */
+    public void logout(RefreshRequest request, String accessToken) {
+        JwtPrincipal refresh = parseRefreshToken(request.getRefreshToken(), "/api/auth/logout");
+        revokeQuietly(refresh);
+
+        if (accessToken != null) {
+            tokenProvider.parseToken(accessToken)
+                    .filter(access -> !access.isRefresh() && access.tokenId() != null)
+                    .filter(access -> access.subject().equals(refresh.subject()))
+                    .ifPresent(this::revokeQuietly);
+        }
+    }
+
+    private JwtPrincipal parseRefreshToken(String token, String path) {
+        JwtPrincipal refresh = tokenProvider.parseToken(token)
+                .filter(JwtPrincipal::isRefresh)
+                .orElseThrow(() -> ApiException.unauthorized("Invalid refresh token", path));
+
+        if (revocationService.isRevoked(refresh.tokenId())) {
+            throw ApiException.unauthorized("Refresh token has been revoked", path);
+        }
+        return refresh;
+    }
+
+    private void revokeQuietly(JwtPrincipal token) {
+        try {
+            revocationService.revoke(token.tokenId(), token.expiresAt());
+        } catch (DataIntegrityViolationException ex) {
+            // Already revoked
+        }
+    }
+
+    private RuntimeException duplicateUser(DataIntegrityViolationException ex, RegisterRequest request) {
+        String violation = String.valueOf(ex.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        boolean named = violation.contains(User.USERNAME_CONSTRAINT) || violation.contains(User.EMAIL_CONSTRAINT);
+
+        // Schemas created before the constraints were named report generated names instead
+        if (named ? violation.contains(User.USERNAME_CONSTRAINT) : userRepository.existsByUsername(request.getUsername())) {
+            return ApiException.badRequest(
+                "Username is already taken",
+                "/api/auth/register"
+            );
+        }
+        if (named || userRepository.existsByEmail(request.getEmail())) {
+            return ApiException.badRequest(
+                "Email is already registered",
+                "/api/auth/register"
+            );
+        }
+        return ex;
+    }
 }
@@ -0,0 +1,57 @@
+package com.koushik.techInterviewSim.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Offline embedder using the hashing trick: each term, adjacent term pair and character
+ * trigram adds a signed weight to one hashed dimension. Texts that share wording land
+ * close together; no model, network call or training data is involved.
+ */
+@Component
+@ConditionalOnProperty(name = "app.related-questions.embedder", havingValue = "hashing", matchIfMissing = true)
+public class HashingQuestionEmbedder implements QuestionEmbedder {
+
+    private static final float TERM_WEIGHT = 1.0f;
+    private static final float PAIR_WEIGHT = 0.5f;
+    private static final float TRIGRAM_WEIGHT = 0.25f;
+
+    private final int dimensions;
+
+    public HashingQuestionEmbedder(@Value("${app.related-questions.dimensions:256}") int dimensions) {
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public float[] embed(String text) {
+        float[] vector = new float[dimensions];
+        List<String> terms = TextTokenizer.tokenize(text);
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i);
+            add(vector, term.hashCode(), TERM_WEIGHT);
+            if (i > 0) {
+                add(vector, terms.get(i - 1).hashCode() * 31 + term.hashCode(), PAIR_WEIGHT);
+            }
+            // Trigrams let "sorting" and "sort" share some weight
+            for (int start = 0; start + 3 <= term.length(); start++) {
+                add(vector, term.substring(start, start + 3).hashCode() * 0x45d9f3b, TRIGRAM_WEIGHT);
+            }
+        }
+        return vector;
+    }
+
+    private void add(float[] vector, int hash, float weight) {
+        int mixed = hash * 0x9E3779B9;
+        mixed ^= mixed >>> 16;
+        // One bit picks the sign, so unrelated features cancel out on average
+        vector[Math.floorMod(mixed >> 1, dimensions)] += (mixed & 1) == 0 ? weight : -weight;
+    }
+}
@@ -0,0 +1,459 @@
+package com.koushik.techInterviewSim.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Hierarchical navigable small world graph for approximate nearest neighbours by cosine
+ * similarity. Vectors are normalized and quantized to signed bytes, one byte per
+ * dimension. Deleted nodes stay in the graph as waypoints and are only filtered from
+ * results. Not thread-safe; the owner guards reads and writes.
+ */
+final class HnswGraph {
+
+    /**
+     * A graph node and its similarity to the query, in [-1, 1].
+     */
+    record Neighbor(int node, float similarity) {
+    }
+
+    private static final float SCALE = 127f;
+    private static final float SIMILARITY_SCALE = SCALE * SCALE;
+
+    private final int dimensions;
+    private final int maxLinks;
+    private final int maxLinks0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final SplittableRandom random;
+
+    private byte[] vectors;
+    // Level 0 links per node: a count followed by maxLinks0 slots
+    private int[] links0;
+    // Levels above 0, only for the few nodes that reach them: [node][level - 1] = count, slots
+    private int[][][] upperLinks;
+    private boolean[] deleted;
+    private int size;
+    private int deletedCount;
+    private int entryPoint = -1;
+    private int topLevel = -1;
+
+    HnswGraph(int dimensions, int maxLinks, int efConstruction, long seed) {
+        this.dimensions = dimensions;
+        this.maxLinks = maxLinks;
+        this.maxLinks0 = maxLinks * 2;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1 / Math.log(maxLinks);
+        this.random = new SplittableRandom(seed);
+        allocate(16);
+    }
+
+    int dimensions() {
+        return dimensions;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int deletedCount() {
+        return deletedCount;
+    }
+
+    boolean isDeleted(int node) {
+        return deleted[node];
+    }
+
+    byte[] vector(int node) {
+        return Arrays.copyOfRange(vectors, node * dimensions, (node + 1) * dimensions);
+    }
+
+    int add(float[] vector) {
+        return add(quantize(vector));
+    }
+
+    /**
+     * Inserts a quantized vector, as returned by {@link #vector}, and returns its node.
+     */
+    int add(byte[] query) {
+        int node = size;
+        if (node == deleted.length) {
+            allocate(node * 2);
+        }
+        size++;
+        System.arraycopy(query, 0, vectors, node * dimensions, dimensions);
+
+        int level = (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier);
+        if (level > 0) {
+            upperLinks[node] = new int[level][maxLinks + 1];
+        }
+        if (entryPoint < 0) {
+            entryPoint = node;
+            topLevel = level;
+            return node;
+        }
+
+        int nearest = entryPoint;
+        for (int l = topLevel; l > level; l--) {
+            nearest = greedy(query, nearest, l);
+        }
+        for (int l = Math.min(level, topLevel); l >= 0; l--) {
+            long[] found = searchLayer(query, nearest, efConstruction, l).drainBestFirst();
+            int[] selected = selectNeighbors(found, found.length, l == 0 ? maxLinks0 : maxLinks);
+            for (int neighbor : selected) {
+                connect(node, neighbor, l);
+                connect(neighbor, node, l);
+            }
+            nearest = nodeOf(found[0]);
+        }
+        if (level > topLevel) {
+            topLevel = level;
+            entryPoint = node;
+        }
+        return node;
+    }
+
+    void delete(int node) {
+        if (!deleted[node]) {
+            deleted[node] = true;
+            deletedCount++;
+        }
+    }
+
+    List<Neighbor> search(float[] query, int k, int ef) {
+        return search(quantize(query), k, ef, -1);
+    }
+
+    /**
+     * The {@code k} live nodes most similar to {@code node}, excluding itself.
+     */
+    List<Neighbor> neighbors(int node, int k, int ef) {
+        return search(vector(node), k, ef, node);
+    }
+
+    private List<Neighbor> search(byte[] query, int k, int ef, int exclude) {
+        if (entryPoint < 0) {
+            return List.of();
+        }
+        int nearest = entryPoint;
+        for (int l = topLevel; l > 0; l--) {
+            nearest = greedy(query, nearest, l);
+        }
+
+        long[] found = searchLayer(query, nearest, Math.max(ef, k + 1), 0).drainBestFirst();
+        List<Neighbor> neighbors = new ArrayList<>(k);
+        for (int i = 0; i < found.length && neighbors.size() < k; i++) {
+            int candidate = nodeOf(found[i]);
+            if (candidate != exclude && !deleted[candidate]) {
+                neighbors.add(new Neighbor(candidate, similarityOf(found[i])));
+            }
+        }
+        return neighbors;
+    }
+
+    // Single best neighbour walk, used on the sparse upper levels
+    private int greedy(byte[] query, int start, int level) {
+        int current = start;
+        float best = similarity(query, current);
+        for (boolean improved = true; improved; ) {
+            improved = false;
+            int[] links = links(current, level);
+            int offset = linksOffset(current, level);
+            for (int i = 1; i <= links[offset]; i++) {
+                int candidate = links[offset + i];
+                float similarity = similarity(query, candidate);
+                if (similarity > best) {
+                    best = similarity;
+                    current = candidate;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    // Beam search keeping the ef best nodes seen; the result heap has the worst on top
+    private LongHeap searchLayer(byte[] query, int start, int ef, int level) {
+        IntSet visited = new IntSet();
+        LongHeap candidates = new LongHeap(ef * 2);
+        LongHeap results = new LongHeap(ef + 1);
+
+        visited.add(start);
+        float startSimilarity = similarity(query, start);
+        candidates.push(key(-startSimilarity, start));
+        results.push(key(startSimilarity, start));
+
+        while (!candidates.isEmpty()) {
+            long candidate = candidates.pop();
+            if (results.size() >= ef && -similarityOf(candidate) < similarityOf(results.peek())) {
+                break;
+            }
+            int node = nodeOf(candidate);
+            int[] links = links(node, level);
+            int offset = linksOffset(node, level);
+            for (int i = 1; i <= links[offset]; i++) {
+                int neighbor = links[offset + i];
+                if (!visited.add(neighbor)) {
+                    continue;
+                }
+                float similarity = similarity(query, neighbor);
+                if (results.size() < ef || similarity > similarityOf(results.peek())) {
+                    candidates.push(key(-similarity, neighbor));
+                    results.push(key(similarity, neighbor));
+                    if (results.size() > ef) {
+                        results.pop();
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Keeps a candidate only if it is closer to the base than to every neighbour already
+     * kept, so links spread in different directions instead of clustering.
+     */
+    private int[] selectNeighbors(long[] bestFirst, int count, int max) {
+        int[] selected = new int[Math.min(max, count)];
+        int kept = 0;
+        for (int i = 0; i < count && kept < selected.length; i++) {
+            int candidate = nodeOf(bestFirst[i]);
+            float similarity = similarityOf(bestFirst[i]);
+            boolean diverse = true;
+            for (int j = 0; j < kept && diverse; j++) {
+                diverse = similarity(candidate, selected[j]) <= similarity;
+            }
+            if (diverse) {
+                selected[kept++] = candidate;
+            }
+        }
+        return kept == selected.length ? selected : Arrays.copyOf(selected, kept);
+    }
+
+    private void connect(int from, int to, int level) {
+        int[] links = links(from, level);
+        int offset = linksOffset(from, level);
+        int count = links[offset];
+        int max = level == 0 ? maxLinks0 : maxLinks;
+        if (count < max) {
+            links[offset + count + 1] = to;
+            links[offset] = count + 1;
+            return;
+        }
+
+        // Full on level 0: replace the weakest link if the new one is closer. The
+        // diversity heuristic costs a pairwise pass over all links on every overflow,
+        // which dominated insert time; level 0 has enough links to do without it
+        if (level == 0) {
+            float similarity = similarity(from, to);
+            int weakest = -1;
+            float weakestSimilarity = similarity;
+            for (int i = 1; i <= count; i++) {
+                float current = similarity(from, links[offset + i]);
+                if (current < weakestSimilarity) {
+                    weakestSimilarity = current;
+                    weakest = i;
+                }
+            }
+            if (weakest > 0) {
+                links[offset + weakest] = to;
+            }
+            return;
+        }
+
+        // Full on an upper level: re-select among the current links plus the new one
+        long[] candidates = new long[count + 1];
+        for (int i = 0; i < count; i++) {
+            int neighbor = links[offset + i + 1];
+            candidates[i] = key(similarity(from, neighbor), neighbor);
+        }
+        candidates[count] = key(similarity(from, to), to);
+        Arrays.sort(candidates);
+        reverse(candidates);
+        int[] selected = selectNeighbors(candidates, candidates.length, max);
+        System.arraycopy(selected, 0, links, offset + 1, selected.length);
+        links[offset] = selected.length;
+    }
+
+    private int[] links(int node, int level) {
+        return level == 0 ? links0 : upperLinks[node][level - 1];
+    }
+
+    private int linksOffset(int node, int level) {
+        return level == 0 ? node * (maxLinks0 + 1) : 0;
+    }
+
+    private float similarity(byte[] query, int node) {
+        int dot = 0;
+        int offset = node * dimensions;
+        for (int i = 0; i < dimensions; i++) {
+            dot += query[i] * vectors[offset + i];
+        }
+        return dot / SIMILARITY_SCALE;
+    }
+
+    private float similarity(int first, int second) {
+        int dot = 0;
+        int a = first * dimensions;
+        int b = second * dimensions;
+        for (int i = 0; i < dimensions; i++) {
+            dot += vectors[a + i] * vectors[b + i];
+        }
+        return dot / SIMILARITY_SCALE;
+    }
+
+    private byte[] quantize(float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("Expected " + dimensions + " dimensions, got " + vector.length);
+        }
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        byte[] quantized = new byte[dimensions];
+        if (norm == 0) {
+            return quantized;
+        }
+        double scale = SCALE / Math.sqrt(norm);
+        for (int i = 0; i < dimensions; i++) {
+            quantized[i] = (byte) Math.round(vector[i] * scale);
+        }
+        return quantized;
+    }
+
+    private void allocate(int capacity) {
+        vectors = Arrays.copyOf(vectors == null ? new byte[0] : vectors, capacity * dimensions);
+        links0 = Arrays.copyOf(links0 == null ? new int[0] : links0, capacity * (maxLinks0 + 1));
+        upperLinks = Arrays.copyOf(upperLinks == null ? new int[0][][] : upperLinks, capacity);
+        deleted = Arrays.copyOf(deleted == null ? new boolean[0] : deleted, capacity);
+    }
+
+    // Similarity in the high half, mapped so signed long order matches float order
+    private static long key(float similarity, int node) {
+        int bits = Float.floatToIntBits(similarity);
+        bits ^= (bits >> 31) & 0x7fffffff;
+        return ((long) bits << 32) | (node & 0xffffffffL);
+    }
+
+    private static float similarityOf(long key) {
+        int bits = (int) (key >>> 32);
+        bits ^= (bits >> 31) & 0x7fffffff;
+        return Float.intBitsToFloat(bits);
+    }
+
+    private static int nodeOf(long key) {
+        return (int) key;
+    }
+
+    private static void reverse(long[] values) {
+        for (int i = 0, j = values.length - 1; i < j; i++, j--) {
+            long swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+    }
+
+    /**
+     * Binary min-heap of packed (similarity, node) keys.
+     */
+    private static final class LongHeap {
+
+        private long[] heap;
+        private int size;
+
+        LongHeap(int capacity) {
+            heap = new long[Math.max(capacity, 4)];
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long peek() {
+            return heap[0];
+        }
+
+        void push(long value) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            int i = size++;
+            while (i > 0 && heap[(i - 1) >> 1] > value) {
+                heap[i] = heap[(i - 1) >> 1];
+                i = (i - 1) >> 1;
+            }
+            heap[i] = value;
+        }
+
+        long pop() {
+            long top = heap[0];
+            long last = heap[--size];
+            int i = 0;
+            for (int child = 1; child < size; child = 2 * i + 1) {
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (heap[child] >= last) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return top;
+        }
+
+        long[] drainBestFirst() {
+            long[] drained = new long[size];
+            for (int i = drained.length - 1; i >= 0; i--) {
+                drained[i] = pop();
+            }
+            return drained;
+        }
+    }
+
+    /**
+     * Open-addressing set of node ids for one search; sized by nodes visited, not by graph size.
+     */
+    private static final class IntSet {
+
+        // Stores node + 1 so that zero marks an empty slot
+        private int[] slots = new int[256];
+        private int size;
+
+        boolean add(int value) {
+            if ((size + 1) * 2 > slots.length) {
+                grow();
+            }
+            int mask = slots.length - 1;
+            int stored = value + 1;
+            for (int slot = (value * 0x9E3779B9) >>> 1 & mask; ; slot = (slot + 1) & mask) {
+                if (slots[slot] == 0) {
+                    slots[slot] = stored;
+                    size++;
+                    return true;
+                }
+                if (slots[slot] == stored) {
+                    return false;
+                }
+            }
+        }
+
+        private void grow() {
+            int[] old = slots;
+            slots = new int[old.length * 2];
+            size = 0;
+            for (int stored : old) {
+                if (stored != 0) {
+                    add(stored - 1);
+                }
+            }
+        }
+    }
+}
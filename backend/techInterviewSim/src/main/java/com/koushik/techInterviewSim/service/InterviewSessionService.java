@@ -1,13 +1,23 @@
 package com.koushik.techInterviewSim.service;
 
+import com.koushik.techInterviewSim.dto.CursorPage;
 import com.koushik.techInterviewSim.dto.InterviewSessionDTO;
+import com.koushik.techInterviewSim.dto.QuestionDTO;
+import com.koushik.techInterviewSim.dto.SessionTurnDTO;
 import com.koushik.techInterviewSim.entity.InterviewSession;
+import com.koushik.techInterviewSim.entity.Question;
+import com.koushik.techInterviewSim.entity.SessionTurn;
 import com.koushik.techInterviewSim.entity.User;
 import com.koushik.techInterviewSim.exception.ApiException;
 import com.koushik.techInterviewSim.repository.InterviewSessionRepository;
+import com.koushik.techInterviewSim.repository.SessionTurnRepository;
 import com.koushik.techInterviewSim.repository.UserRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -15,6 +25,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +33,11 @@ public class InterviewSessionService {
 
     private final InterviewSessionRepository sessionRepository;
     private final UserRepository userRepository;
+    private final QuestionService questionService;
+    private final ActiveSessionRegistry activeSessions;
+    private final SessionTurnLog turnLog;
+    private final SessionTurnRepository turnRepository;
+    private final EntityManager entityManager;
 
     @Transactional(readOnly = true)
     public Page<InterviewSessionDTO> getAllSessions(Pageable pageable) {
@@ -29,6 +45,32 @@ public class InterviewSessionService {
                 .map(this::convertToDTO);
     }
 
+    /**
+     * Keyset listing on (start_time, id), newest first. Each page is one indexed range
+     * query, however deep, and there is no count query.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<InterviewSessionDTO> scrollSessions(String cursor, int size) {
+        int pageSize = KeysetCursor.pageSize(size, "/api/sessions/scroll");
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<InterviewSession> rows;
+        if (cursor == null) {
+            rows = sessionRepository.findNewest(limit);
+        } else {
+            Object[] last = KeysetCursor.decode(cursor, 2, "/api/sessions/scroll",
+                keys -> new Object[] {LocalDateTime.parse(keys[0]), Long.parseLong(keys[1])});
+            rows = sessionRepository.findOlderThan((LocalDateTime) last[0], (Long) last[1], limit);
+        }
+
+        return CursorPage.of(
+            rows,
+            pageSize,
+            this::convertToDTO,
+            last -> KeysetCursor.encode(last.getStartTime(), last.getId())
+        );
+    }
+
     @Transactional(readOnly = true)
     public List<InterviewSessionDTO> getUserSessions(Long userId) {
         User user = userRepository.findById(userId)
@@ -44,78 +86,171 @@ public class InterviewSessionService {
                 .toList();
     }
 
+    /**
+     * Starts a session without asking the database whether one is active: the registry
+     * answers from memory, and a start that races past it fails on the unique constraint.
+     */
     @Transactional
     public InterviewSessionDTO startSession(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ApiException(
-                    HttpStatus.NOT_FOUND,
-                    "User not found with id: " + userId,
-                    "/api/sessions/start"
-                ));
-
-        // Check if user has an active session
-        sessionRepository.findByUserAndStatus(user, InterviewSession.InterviewStatus.IN_PROGRESS)
-                .ifPresent(session -> {
-                    throw new ApiException(
-                        HttpStatus.BAD_REQUEST,
-                        "User already has an active interview session",
-                        "/api/sessions/start"
-                    );
-                });
+        Long active = activeSessions.activeSession(userId);
+        if (active != null) {
+            if (sessionRepository.existsByIdAndStatus(active, InterviewSession.InterviewStatus.IN_PROGRESS)) {
+                throw alreadyActive();
+            }
+            activeSessions.forget(userId, active);
+        }
 
         InterviewSession session = InterviewSession.builder()
-                .user(user)
+                // The foreign key checks the user exists; the row is only read for the response
+                .user(userRepository.getReferenceById(userId))
                 .startTime(LocalDateTime.now())
                 .status(InterviewSession.InterviewStatus.IN_PROGRESS)
                 .build();
 
-        return convertToDTO(sessionRepository.save(session));
+        try {
+            sessionRepository.saveAndFlush(session);
+        } catch (DataIntegrityViolationException ex) {
+            String violation = String.valueOf(ex.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+            if (violation.contains(InterviewSession.ACTIVE_USER_CONSTRAINT)) {
+                throw alreadyActive();
+            }
+            // user_id is the only foreign key on the table
+            if (violation.contains("foreign key")) {
+                throw new ApiException(
+                    HttpStatus.NOT_FOUND,
+                    "User not found with id: " + userId,
+                    "/api/sessions/start"
+                );
+            }
+            throw ex;
+        }
+
+        activeSessions.started(userId, session.getId());
+        return convertToDTO(session);
     }
 
+    /**
+     * Draws questions for an in-progress session, avoiding ones the user was asked in any
+     * earlier session, and records them on this session's bitmap.
+     */
     @Transactional
-    public InterviewSessionDTO endSession(Long sessionId) {
-        InterviewSession session = sessionRepository.findById(sessionId)
+    public List<QuestionDTO> drawQuestions(
+            Long sessionId,
+            Question.QuestionCategory category,
+            Question.QuestionDifficulty difficulty,
+            int limit,
+            Long seed) {
+        String path = "/api/sessions/" + sessionId + "/questions";
+        if (limit < 1) {
+            throw ApiException.badRequest("Limit must be at least 1", path);
+        }
+
+        // A copy left in the persistence context, e.g. by the ownership check, would be handed
+        // back as is by the locking query; evicting it first costs no statement
+        entityManager.detach(entityManager.getReference(InterviewSession.class, sessionId));
+        // Read under a row lock so concurrent draws cannot overwrite each other's bitmap
+        InterviewSession session = sessionRepository.findForUpdateById(sessionId)
                 .orElseThrow(() -> new ApiException(
                     HttpStatus.NOT_FOUND,
                     "Session not found with id: " + sessionId,
-                    "/api/sessions/" + sessionId + "/end"
+                    path
                 ));
 
         if (session.getStatus() != InterviewSession.InterviewStatus.IN_PROGRESS) {
+            throw ApiException.badRequest("Session is not in progress", path);
+        }
+
+        List<QuestionDTO> drawn = questionService.drawUnseenQuestions(
+            session.getUser().getId(), category, difficulty, limit, seed);
+
+        MutableRoaringBitmap asked = SeenQuestionTracker.deserialize(session.getAskedQuestions());
+        drawn.forEach(question -> asked.add(Math.toIntExact(question.getId())));
+        asked.runOptimize();
+        session.setAskedQuestions(SeenQuestionTracker.serialize(asked));
+        return drawn;
+    }
+
+    /**
+     * Adds a turn to an in-progress session's transcript. The turn is only queued; see
+     * {@link SessionTurnLog}. Not transactional: the session usually comes from the
+     * request's persistence context, so a turn costs no write and no transaction.
+     */
+    public void recordTurn(Long sessionId, SessionTurnDTO turn) {
+        InterviewSession session = findInProgress(sessionId, "/api/sessions/" + sessionId + "/turns");
+        turnLog.append(new SessionTurnLog.Turn(
+            session.getId(), turn.getQuestionId(), turn.getAnswer(), turn.getAskedAt(), LocalDateTime.now()));
+    }
+
+    /**
+     * The session's turns in order, including any still waiting in the log.
+     */
+    @Transactional(readOnly = true)
+    public List<SessionTurnDTO> getTranscript(Long sessionId) {
+        if (sessionRepository.findById(sessionId).isEmpty()) {
             throw new ApiException(
-                HttpStatus.BAD_REQUEST,
-                "Session is not in progress",
-                "/api/sessions/" + sessionId + "/end"
+                HttpStatus.NOT_FOUND,
+                "Session not found with id: " + sessionId,
+                "/api/sessions/" + sessionId + "/turns"
             );
         }
+        return turnLog.transcript(sessionId, () -> turnRepository.findTranscript(sessionId))
+                .stream()
+                .map(turn -> convertToDTO(sessionId, turn))
+                .toList();
+    }
 
-        session.setEndTime(LocalDateTime.now());
-        session.setStatus(InterviewSession.InterviewStatus.COMPLETED);
-
-        return convertToDTO(sessionRepository.save(session));
+    @Transactional
+    public InterviewSessionDTO endSession(Long sessionId) {
+        return finish(sessionId, InterviewSession.InterviewStatus.COMPLETED, "/api/sessions/" + sessionId + "/end");
     }
 
     @Transactional
     public InterviewSessionDTO cancelSession(Long sessionId) {
+        return finish(sessionId, InterviewSession.InterviewStatus.CANCELLED, "/api/sessions/" + sessionId + "/cancel");
+    }
+
+    // A concurrent end and cancel cannot both succeed: only one matches IN_PROGRESS
+    private InterviewSessionDTO finish(Long sessionId, InterviewSession.InterviewStatus status, String path) {
+        LocalDateTime endTime = LocalDateTime.now();
+        if (sessionRepository.transition(sessionId, InterviewSession.InterviewStatus.IN_PROGRESS, status, endTime) == 0) {
+            if (!sessionRepository.existsById(sessionId)) {
+                throw new ApiException(
+                    HttpStatus.NOT_FOUND,
+                    "Session not found with id: " + sessionId,
+                    path
+                );
+            }
+            throw ApiException.badRequest("Session is not in progress", path);
+        }
+
+        // Usually already in the persistence context from the ownership check. The bulk
+        // update bypassed it, so detach before patching in what was written
+        InterviewSession session = sessionRepository.findById(sessionId).orElseThrow();
+        entityManager.detach(session);
+        session.setStatus(status);
+        session.setEndTime(endTime);
+        session.setActiveUserId(null);
+
+        activeSessions.finished(session.getUser().getId(), sessionId);
+        turnLog.sessionEnded(sessionId);
+        return convertToDTO(session);
+    }
+
+    private InterviewSession findInProgress(Long sessionId, String path) {
         InterviewSession session = sessionRepository.findById(sessionId)
                 .orElseThrow(() -> new ApiException(
                     HttpStatus.NOT_FOUND,
                     "Session not found with id: " + sessionId,
-                    "/api/sessions/" + sessionId + "/cancel"
+                    path
                 ));
-
         if (session.getStatus() != InterviewSession.InterviewStatus.IN_PROGRESS) {
-            throw new ApiException(
-                HttpStatus.BAD_REQUEST,
-                "Session is not in progress",
-                "/api/sessions/" + sessionId + "/cancel"
-            );
+            throw ApiException.badRequest("Session is not in progress", path);
         }
+        return session;
+    }
 
-        session.setEndTime(LocalDateTime.now());
-        session.setStatus(InterviewSession.InterviewStatus.CANCELLED);
-
-        return convertToDTO(sessionRepository.save(session));
+    private static ApiException alreadyActive() {
+        return ApiException.badRequest("User already has an active interview session", "/api/sessions/start");
     }
 
     private InterviewSessionDTO convertToDTO(InterviewSession session) {
@@ -130,6 +265,18 @@ public class InterviewSessionService {
                 .build();
     }
 
+    private static SessionTurnDTO convertToDTO(Long sessionId, SessionTurn turn) {
+        return SessionTurnDTO.builder()
+                .id(turn.getId())
+                .sessionId(sessionId)
+                .questionId(turn.getQuestionId())
+                .answer(turn.getAnswer())
+                .askedAt(turn.getAskedAt())
+                .answeredAt(turn.getAnsweredAt())
+                .latencyMs(turn.getLatencyMs())
+                .build();
+    }
+
     private Long calculateDuration(InterviewSession session) {
         if (session.getStartTime() == null) {
             return null;
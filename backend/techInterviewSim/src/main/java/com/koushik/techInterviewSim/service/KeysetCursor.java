@@ -0,0 +1,57 @@
+package com.koushik.techInterviewSim.service;
+
+import com.koushik.techInterviewSim.exception.ApiException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Opaque continuation tokens for keyset listings: the sort key of the last row
+ * returned, base64url-encoded so clients do not build or depend on them.
+ */
+public final class KeysetCursor {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String VERSION = "k1";
+    private static final String SEPARATOR = "|";
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(Object... keys) {
+        StringBuilder raw = new StringBuilder(VERSION);
+        for (Object key : keys) {
+            raw.append(SEPARATOR).append(key);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode}; any malformed or tampered
+     * token is a 400 rather than a server error.
+     */
+    public static <T> T decode(String cursor, int keys, String path, Function<String[], T> parser) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != keys + 1 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Unexpected cursor layout");
+            }
+            String[] values = new String[keys];
+            System.arraycopy(parts, 1, values, 0, keys);
+            return parser.apply(values);
+        } catch (RuntimeException ex) {
+            throw ApiException.badRequest("Invalid cursor", path);
+        }
+    }
+
+    public static int pageSize(int requested, String path) {
+        if (requested < 1) {
+            throw ApiException.badRequest("Page size must be at least 1", path);
+        }
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+}
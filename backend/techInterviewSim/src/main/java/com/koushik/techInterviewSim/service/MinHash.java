@@ -0,0 +1,102 @@
+package com.koushik.techInterviewSim.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures over character 4-shingles of the normalized question text. The
+ * fraction of equal slots in two signatures estimates the Jaccard similarity of their
+ * shingle sets. Hash parameters come from a fixed seed, so signatures are comparable
+ * across restarts and instances.
+ */
+public final class MinHash {
+
+    public static final int SIGNATURE_LENGTH = 64;
+
+    private static final int SHINGLE_LENGTH = 4;
+    private static final long[] MULTIPLIERS = new long[SIGNATURE_LENGTH];
+    private static final long[] INCREMENTS = new long[SIGNATURE_LENGTH];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EEDL);
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            MULTIPLIERS[i] = random.nextLong() | 1;
+            INCREMENTS[i] = random.nextLong();
+        }
+    }
+
+    private MinHash() {
+    }
+
+    public static int[] signature(String text) {
+        int[] signature = new int[SIGNATURE_LENGTH];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+
+        // Tokenizing first makes punctuation, case and spacing changes invisible
+        String normalized = String.join(" ", TextTokenizer.tokenize(text));
+        int shingles = Math.max(1, normalized.length() - SHINGLE_LENGTH + 1);
+        for (int start = 0; start < shingles; start++) {
+            long shingle = hash(normalized, start, Math.min(normalized.length(), start + SHINGLE_LENGTH));
+            for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+                // Multiply-add then keep the high bits: one cheap universal hash per slot
+                int value = (int) ((MULTIPLIERS[i] * shingle + INCREMENTS[i]) >>> 32);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Estimated Jaccard similarity of the signatures stored at the given offsets.
+     */
+    public static double similarity(int[] a, int aOffset, int[] b, int bOffset) {
+        int equal = 0;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            if (a[aOffset + i] == b[bOffset + i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIGNATURE_LENGTH;
+    }
+
+    /**
+     * Exact Jaccard similarity of the shingle sets, for tests and calibration.
+     */
+    static double jaccard(String first, String second) {
+        List<String> a = shingles(first);
+        List<String> b = shingles(second);
+        Set<String> union = new HashSet<>(a);
+        union.addAll(b);
+        Set<String> intersection = new HashSet<>(a);
+        intersection.retainAll(b);
+        return union.isEmpty() ? 1.0 : (double) intersection.size() / union.size();
+    }
+
+    private static List<String> shingles(String text) {
+        String normalized = String.join(" ", TextTokenizer.tokenize(text));
+        int shingles = Math.max(1, normalized.length() - SHINGLE_LENGTH + 1);
+        List<String> result = new ArrayList<>(shingles);
+        for (int start = 0; start < shingles; start++) {
+            result.add(normalized.substring(start, Math.min(normalized.length(), start + SHINGLE_LENGTH)));
+        }
+        return result;
+    }
+
+    // FNV-1a over the chars, then a SplitMix64 finalizer to spread the bits
+    private static long hash(String text, int from, int to) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = from; i < to; i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+}
@@ -0,0 +1,316 @@
+package com.koushik.techInterviewSim.service;
+
+import com.koushik.techInterviewSim.entity.Question;
+import com.koushik.techInterviewSim.repository.QuestionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable in-memory copy of the question bank. Readers get a consistent snapshot
+ * through one volatile read; admin mutations build a new snapshot after they commit.
+ * A periodic full reload picks up changes made by other instances.
+ * Other in-memory views apply the same {@link QuestionChangedEvent}s after the catalog does.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuestionCatalog implements InfoContributor {
+
+    private static final Question.QuestionCategory[] CATEGORIES = Question.QuestionCategory.values();
+    private static final Question.QuestionDifficulty[] DIFFICULTIES = Question.QuestionDifficulty.values();
+
+    private final QuestionRepository questionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile Snapshot snapshot = Snapshot.build(new Entry[0], 0);
+
+    /**
+     * Detached, immutable view of one question row.
+     */
+    public record Entry(Long id, String text, Question.QuestionCategory category,
+                        Question.QuestionDifficulty difficulty) {
+
+        public static Entry of(Question question) {
+            return new Entry(question.getId(), question.getText(), question.getCategory(), question.getDifficulty());
+        }
+    }
+
+    /**
+     * Identifies one snapshot for HTTP validators. The version only orders snapshots on
+     * this instance; the content fingerprint keeps two instances at the same version from
+     * vouching for each other's data.
+     */
+    public record Revision(long version, long fingerprint, Instant builtAt) {
+
+        public String etag() {
+            return "\"v" + version + "-" + Long.toHexString(fingerprint) + "\"";
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        reload();
+    }
+
+    // Other instances may have mutated the bank; a full reload also repairs any drift
+    @Scheduled(initialDelayString = "${app.question-catalog.reload-interval:300000}",
+               fixedDelayString = "${app.question-catalog.reload-interval:300000}")
+    public void reload() {
+        long version;
+        synchronized (this) {
+            Entry[] entries = questionRepository.findAll(Sort.by("id")).stream()
+                    .map(Entry::of)
+                    .toArray(Entry[]::new);
+            if (Arrays.equals(entries, snapshot.entries)) {
+                return;
+            }
+            publish(entries);
+            version = snapshot.version;
+            log.debug("Question catalog reloaded with {} questions", entries.length);
+        }
+        // Listeners rebuild from the catalog itself; mutations must not wait on them
+        eventPublisher.publishEvent(new QuestionCatalogReloadedEvent(version));
+    }
+
+    public Optional<Entry> find(Long id) {
+        Snapshot current = snapshot;
+        int index = current.indexOf(id);
+        return index >= 0 ? Optional.of(current.entries[index]) : Optional.empty();
+    }
+
+    public List<Entry> all() {
+        return view(snapshot.entries);
+    }
+
+    /**
+     * Up to {@code limit} entries with ids greater than {@code afterId}, in id order.
+     */
+    public List<Entry> after(long afterId, int limit) {
+        Snapshot current = snapshot;
+        int from = Arrays.binarySearch(current.ids, afterId);
+        from = from >= 0 ? from + 1 : -from - 1;
+        int to = (int) Math.min(current.entries.length, (long) from + limit);
+        return view(current.entries).subList(from, to);
+    }
+
+    public List<Entry> byCategory(Question.QuestionCategory category) {
+        return view(snapshot.byCategory[category.ordinal()]);
+    }
+
+    public List<Entry> byDifficulty(Question.QuestionDifficulty difficulty) {
+        return view(snapshot.byDifficulty[difficulty.ordinal()]);
+    }
+
+    public List<Entry> byCategoryAndDifficulty(Question.QuestionCategory category,
+                                               Question.QuestionDifficulty difficulty) {
+        return view(snapshot.cells[cell(category, difficulty)]);
+    }
+
+    /**
+     * Ids of the category x difficulty pool as a compressed bitmap, for set operations
+     * against per-user history. Question ids are sequence-generated and fit in an int.
+     */
+    public ImmutableRoaringBitmap idsIn(Question.QuestionCategory category,
+                                       Question.QuestionDifficulty difficulty) {
+        return snapshot.cellIds[cell(category, difficulty)];
+    }
+
+    public int size() {
+        return snapshot.entries.length;
+    }
+
+    public long version() {
+        return snapshot.version;
+    }
+
+    public Instant builtAt() {
+        return snapshot.builtAt;
+    }
+
+    public Revision revision() {
+        Snapshot current = snapshot;
+        return new Revision(current.version, current.fingerprint, current.builtAt);
+    }
+
+    // Runs first so other listeners already see the new snapshot
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionChanged(QuestionChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.id());
+        } else {
+            put(event.entry());
+        }
+    }
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        Snapshot current = snapshot;
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("version", current.version);
+        details.put("builtAt", current.builtAt.toString());
+        details.put("questions", current.entries.length);
+        builder.withDetail("questionCatalog", details);
+    }
+
+    synchronized void put(Entry entry) {
+        Entry[] entries = snapshot.entries;
+        int index = snapshot.indexOf(entry.id());
+        Entry[] updated;
+        if (index >= 0) {
+            updated = entries.clone();
+            updated[index] = entry;
+        } else {
+            int insertAt = -index - 1;
+            updated = new Entry[entries.length + 1];
+            System.arraycopy(entries, 0, updated, 0, insertAt);
+            updated[insertAt] = entry;
+            System.arraycopy(entries, insertAt, updated, insertAt + 1, entries.length - insertAt);
+        }
+        publish(updated);
+    }
+
+    synchronized void remove(Long id) {
+        Entry[] entries = snapshot.entries;
+        int index = snapshot.indexOf(id);
+        if (index < 0) {
+            return;
+        }
+        Entry[] updated = new Entry[entries.length - 1];
+        System.arraycopy(entries, 0, updated, 0, index);
+        System.arraycopy(entries, index + 1, updated, index, entries.length - index - 1);
+        publish(updated);
+    }
+
+    private void publish(Entry[] entriesById) {
+        snapshot = Snapshot.build(entriesById, snapshot.version + 1);
+    }
+
+    private static List<Entry> view(Entry[] entries) {
+        return Collections.unmodifiableList(Arrays.asList(entries));
+    }
+
+    private static int cell(Question.QuestionCategory category, Question.QuestionDifficulty difficulty) {
+        return category.ordinal() * DIFFICULTIES.length + difficulty.ordinal();
+    }
+
+    /**
+     * Entries sorted by id, with a parallel id array for binary search, bucketed
+     * by category, difficulty and category x difficulty. Never mutated once built.
+     */
+    private static final class Snapshot {
+
+        final long version;
+        final long fingerprint;
+        final Instant builtAt;
+        final Entry[] entries;
+        final long[] ids;
+        final Entry[][] byCategory;
+        final Entry[][] byDifficulty;
+        final Entry[][] cells;
+        final ImmutableRoaringBitmap[] cellIds;
+
+        private Snapshot(long version, long fingerprint, Entry[] entries, long[] ids,
+                         Entry[][] byCategory, Entry[][] byDifficulty, Entry[][] cells,
+                         ImmutableRoaringBitmap[] cellIds) {
+            this.version = version;
+            this.fingerprint = fingerprint;
+            this.builtAt = Instant.now();
+            this.entries = entries;
+            this.ids = ids;
+            this.byCategory = byCategory;
+            this.byDifficulty = byDifficulty;
+            this.cells = cells;
+            this.cellIds = cellIds;
+        }
+
+        static Snapshot build(Entry[] entries, long version) {
+            long[] ids = new long[entries.length];
+            int[] cellSizes = new int[CATEGORIES.length * DIFFICULTIES.length];
+            long fingerprint = entries.length;
+            for (int i = 0; i < entries.length; i++) {
+                ids[i] = entries[i].id();
+                cellSizes[cell(entries[i].category(), entries[i].difficulty())]++;
+                fingerprint = fingerprint * 1_000_003L + fingerprint(entries[i]);
+            }
+
+            Entry[][] cells = new Entry[cellSizes.length][];
+            Entry[][] byCategory = new Entry[CATEGORIES.length][];
+            Entry[][] byDifficulty = new Entry[DIFFICULTIES.length][];
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = new Entry[cellSizes[i]];
+            }
+            for (Question.QuestionCategory category : CATEGORIES) {
+                int size = 0;
+                for (Question.QuestionDifficulty difficulty : DIFFICULTIES) {
+                    size += cellSizes[cell(category, difficulty)];
+                }
+                byCategory[category.ordinal()] = new Entry[size];
+            }
+            for (Question.QuestionDifficulty difficulty : DIFFICULTIES) {
+                int size = 0;
+                for (Question.QuestionCategory category : CATEGORIES) {
+                    size += cellSizes[cell(category, difficulty)];
+                }
+                byDifficulty[difficulty.ordinal()] = new Entry[size];
+            }
+
+            // One pass in id order keeps every bucket sorted by id
+            int[] cellFill = new int[cells.length];
+            int[] categoryFill = new int[CATEGORIES.length];
+            int[] difficultyFill = new int[DIFFICULTIES.length];
+            for (Entry entry : entries) {
+                int c = entry.category().ordinal();
+                int d = entry.difficulty().ordinal();
+                int cell = cell(entry.category(), entry.difficulty());
+                cells[cell][cellFill[cell]++] = entry;
+                byCategory[c][categoryFill[c]++] = entry;
+                byDifficulty[d][difficultyFill[d]++] = entry;
+            }
+
+            ImmutableRoaringBitmap[] cellIds = new ImmutableRoaringBitmap[cells.length];
+            for (int i = 0; i < cells.length; i++) {
+                MutableRoaringBitmap bitmap = new MutableRoaringBitmap();
+                for (Entry entry : cells[i]) {
+                    bitmap.add(Math.toIntExact(entry.id()));
+                }
+                bitmap.runOptimize();
+                cellIds[i] = bitmap;
+            }
+
+            return new Snapshot(version, fingerprint, entries, ids, byCategory, byDifficulty, cells, cellIds);
+        }
+
+        // Stable across JVMs, unlike the record hash, which mixes in enum identity hashes
+        private static long fingerprint(Entry entry) {
+            long hash = entry.id();
+            hash = hash * 31 + (entry.text() == null ? 0 : entry.text().hashCode());
+            hash = hash * 31 + entry.category().ordinal();
+            return hash * 31 + entry.difficulty().ordinal();
+        }
+
+        int indexOf(Long id) {
+            return id == null ? -1 : Arrays.binarySearch(ids, id);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.koushik.techInterviewSim.service;
+
+/**
+ * Published after a full catalog reload that changed its contents, so views derived
+ * from the catalog can rebuild instead of applying individual changes.
+ */
+public record QuestionCatalogReloadedEvent(long version) {
+}
@@ -0,0 +1,23 @@
+package com.koushik.techInterviewSim.service;
+
+import com.koushik.techInterviewSim.entity.Question;
+
+/**
+ * Published by {@link QuestionService} for every admin mutation. In-memory views of the
+ * question bank apply it once the transaction commits. A null entry means the question
+ * was deleted.
+ */
+public record QuestionChangedEvent(Long id, QuestionCatalog.Entry entry) {
+
+    public static QuestionChangedEvent saved(Question question) {
+        return new QuestionChangedEvent(question.getId(), QuestionCatalog.Entry.of(question));
+    }
+
+    public static QuestionChangedEvent deleted(Long id) {
+        return new QuestionChangedEvent(id, null);
+    }
+
+    public boolean isDeleted() {
+        return entry == null;
+    }
+}
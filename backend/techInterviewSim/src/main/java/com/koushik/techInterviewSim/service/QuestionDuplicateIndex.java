@@ -0,0 +1,343 @@
+package com.koushik.techInterviewSim.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Locality-sensitive hashing index over question {@link MinHash} signatures. Each
+ * signature is cut into bands; questions sharing any band are candidates, and only
+ * candidates are compared. With 16 bands of 4 rows a pair at Jaccard 0.7 becomes a
+ * candidate 99% of the time, one at 0.3 about 12% of the time.
+ * Kept in step with the catalog the same way as {@link QuestionSearchIndex}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuestionDuplicateIndex {
+
+    static final int BANDS = 16;
+    static final int ROWS = MinHash.SIGNATURE_LENGTH / BANDS;
+    private static final int MAX_MATCHES = 10;
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 1024;
+
+    private final QuestionCatalog questionCatalog;
+
+    @Value("${app.question-dedupe.threshold:0.7}")
+    private double threshold;
+
+    // Lookups share the read lock; incremental updates and swaps take the write lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+
+    /**
+     * A stored question and its estimated Jaccard similarity to the probe.
+     */
+    public record Match(QuestionCatalog.Entry entry, double similarity) {
+    }
+
+    @PostConstruct
+    void init() {
+        rebuild();
+    }
+
+    @EventListener(QuestionCatalogReloadedEvent.class)
+    public synchronized void rebuild() {
+        Index rebuilt = new Index();
+        questionCatalog.all().forEach(entry -> rebuilt.add(entry, MinHash.signature(entry.text())));
+        swap(rebuilt);
+        log.debug("Question duplicate index rebuilt with {} questions", rebuilt.liveCount());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onQuestionChanged(QuestionChangedEvent event) {
+        int[] signature = event.isDeleted() ? null : MinHash.signature(event.entry().text());
+        lock.writeLock().lock();
+        try {
+            index.remove(event.id());
+            if (signature != null) {
+                index.add(event.entry(), signature);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (index.needsCompaction()) {
+            swap(index.compacted());
+        }
+    }
+
+    public double threshold() {
+        return threshold;
+    }
+
+    /**
+     * Stored questions at or above the threshold, most similar first. Cost depends on
+     * the number of candidates sharing a band, not on the size of the bank.
+     */
+    public List<Match> findSimilar(String text, Long excludeId) {
+        int[] signature = MinHash.signature(text);
+
+        lock.readLock().lock();
+        try {
+            return index.findSimilar(signature, excludeId, threshold);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Groups of questions linked by similarities at or above the threshold, largest
+     * first. Links are transitive, so a cluster may contain pairs below the threshold.
+     */
+    public List<List<QuestionCatalog.Entry>> clusters() {
+        lock.readLock().lock();
+        try {
+            return index.clusters(threshold);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void swap(Index replacement) {
+        lock.writeLock().lock();
+        try {
+            index = replacement;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static long bandKey(int[] signatures, int offset, int band) {
+        long hash = (band + 1) * 0x9E3779B97F4A7C15L;
+        for (int row = 0; row < ROWS; row++) {
+            hash = (hash ^ signatures[offset + band * ROWS + row]) * 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+        }
+        return hash;
+    }
+
+    private static final class Index {
+
+        // Parallel per-document arrays; a null entry marks a deleted document
+        QuestionCatalog.Entry[] entries = new QuestionCatalog.Entry[16];
+        int[] signatures = new int[16 * MinHash.SIGNATURE_LENGTH];
+        int docCount;
+        int tombstones;
+        final Map<Long, Integer> docByQuestion = new HashMap<>();
+
+        // Band key -> newest node; nodes chain to older documents in the same bucket
+        final BucketTable buckets = new BucketTable();
+        int[] nodeDoc = new int[16 * BANDS];
+        int[] nodeNext = new int[16 * BANDS];
+        int nodeCount;
+
+        void add(QuestionCatalog.Entry entry, int[] signature) {
+            int doc = docCount++;
+            if (doc == entries.length) {
+                entries = Arrays.copyOf(entries, doc * 2);
+                signatures = Arrays.copyOf(signatures, doc * 2 * MinHash.SIGNATURE_LENGTH);
+            }
+            entries[doc] = entry;
+            System.arraycopy(signature, 0, signatures, doc * MinHash.SIGNATURE_LENGTH, MinHash.SIGNATURE_LENGTH);
+            docByQuestion.put(entry.id(), doc);
+
+            if (nodeCount + BANDS > nodeDoc.length) {
+                nodeDoc = Arrays.copyOf(nodeDoc, nodeDoc.length * 2);
+                nodeNext = Arrays.copyOf(nodeNext, nodeNext.length * 2);
+            }
+            for (int band = 0; band < BANDS; band++) {
+                long key = bandKey(signature, 0, band);
+                int node = nodeCount++;
+                nodeDoc[node] = doc;
+                nodeNext[node] = buckets.get(key);
+                buckets.put(key, node);
+            }
+        }
+
+        void remove(Long questionId) {
+            Integer doc = docByQuestion.remove(questionId);
+            if (doc != null) {
+                entries[doc] = null;
+                tombstones++;
+            }
+        }
+
+        int liveCount() {
+            return docByQuestion.size();
+        }
+
+        boolean needsCompaction() {
+            return tombstones >= MIN_TOMBSTONES_TO_COMPACT && tombstones > liveCount();
+        }
+
+        Index compacted() {
+            Index compacted = new Index();
+            for (int doc = 0; doc < docCount; doc++) {
+                if (entries[doc] != null) {
+                    int from = doc * MinHash.SIGNATURE_LENGTH;
+                    compacted.add(entries[doc], Arrays.copyOfRange(signatures, from, from + MinHash.SIGNATURE_LENGTH));
+                }
+            }
+            return compacted;
+        }
+
+        List<Match> findSimilar(int[] signature, Long excludeId, double threshold) {
+            Set<Integer> compared = new HashSet<>();
+            List<Match> matches = new ArrayList<>();
+            for (int band = 0; band < BANDS; band++) {
+                for (int node = buckets.get(bandKey(signature, 0, band)); node >= 0; node = nodeNext[node]) {
+                    int doc = nodeDoc[node];
+                    QuestionCatalog.Entry entry = entries[doc];
+                    if (entry == null || entry.id().equals(excludeId) || !compared.add(doc)) {
+                        continue;
+                    }
+                    double similarity = MinHash.similarity(signature, 0, signatures, doc * MinHash.SIGNATURE_LENGTH);
+                    if (similarity >= threshold) {
+                        matches.add(new Match(entry, similarity));
+                    }
+                }
+            }
+            matches.sort(Comparator.comparingDouble(Match::similarity).reversed()
+                .thenComparing(match -> match.entry().id()));
+            return matches.size() > MAX_MATCHES ? matches.subList(0, MAX_MATCHES) : matches;
+        }
+
+        List<List<QuestionCatalog.Entry>> clusters(double threshold) {
+            int[] parent = new int[docCount];
+            for (int doc = 0; doc < docCount; doc++) {
+                parent[doc] = doc;
+            }
+
+            for (int doc = 0; doc < docCount; doc++) {
+                if (entries[doc] == null) {
+                    continue;
+                }
+                int offset = doc * MinHash.SIGNATURE_LENGTH;
+                for (int band = 0; band < BANDS; band++) {
+                    for (int node = buckets.get(bandKey(signatures, offset, band)); node >= 0; node = nodeNext[node]) {
+                        int other = nodeDoc[node];
+                        // Each pair once; already-joined pairs need no comparison
+                        if (other >= doc || entries[other] == null || find(parent, other) == find(parent, doc)) {
+                            continue;
+                        }
+                        if (MinHash.similarity(signatures, offset, signatures,
+                                other * MinHash.SIGNATURE_LENGTH) >= threshold) {
+                            parent[find(parent, other)] = find(parent, doc);
+                        }
+                    }
+                }
+            }
+
+            // Count first so singletons, nearly every question, allocate nothing
+            int[] sizes = new int[docCount];
+            for (int doc = 0; doc < docCount; doc++) {
+                if (entries[doc] != null) {
+                    sizes[find(parent, doc)]++;
+                }
+            }
+            Map<Integer, List<QuestionCatalog.Entry>> byRoot = new HashMap<>();
+            for (int doc = 0; doc < docCount; doc++) {
+                int root = find(parent, doc);
+                if (entries[doc] != null && sizes[root] > 1) {
+                    byRoot.computeIfAbsent(root, key -> new ArrayList<>(sizes[key])).add(entries[doc]);
+                }
+            }
+            // Documents are numbered in insertion order, so sort each cluster by id
+            List<List<QuestionCatalog.Entry>> clusters = new ArrayList<>(byRoot.values());
+            clusters.forEach(cluster -> cluster.sort(Comparator.comparing(QuestionCatalog.Entry::id)));
+            clusters.sort(Comparator.<List<QuestionCatalog.Entry>>comparingInt(List::size).reversed()
+                .thenComparing(cluster -> cluster.get(0).id()));
+            return clusters;
+        }
+
+        private static int find(int[] parent, int doc) {
+            while (parent[doc] != doc) {
+                parent[doc] = parent[parent[doc]];
+                doc = parent[doc];
+            }
+            return doc;
+        }
+    }
+
+    /**
+     * Open-addressing map from band key to the head node of its bucket, without boxing.
+     */
+    private static final class BucketTable {
+
+        private static final int EMPTY = -1;
+
+        long[] keys = new long[64];
+        int[] heads = filled(64);
+        int size;
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = slot(key, mask); ; slot = (slot + 1) & mask) {
+                if (heads[slot] == EMPTY) {
+                    return EMPTY;
+                }
+                if (keys[slot] == key) {
+                    return heads[slot];
+                }
+            }
+        }
+
+        void put(long key, int head) {
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+            }
+            int mask = keys.length - 1;
+            for (int slot = slot(key, mask); ; slot = (slot + 1) & mask) {
+                if (heads[slot] == EMPTY) {
+                    keys[slot] = key;
+                    heads[slot] = head;
+                    size++;
+                    return;
+                }
+                if (keys[slot] == key) {
+                    heads[slot] = head;
+                    return;
+                }
+            }
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldHeads = heads;
+            keys = new long[oldKeys.length * 2];
+            heads = filled(oldKeys.length * 2);
+            size = 0;
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldHeads[slot] != EMPTY) {
+                    put(oldKeys[slot], oldHeads[slot]);
+                }
+            }
+        }
+
+        private static int slot(long key, int mask) {
+            return (int) (key ^ (key >>> 32)) & mask;
+        }
+
+        private static int[] filled(int length) {
+            int[] heads = new int[length];
+            Arrays.fill(heads, EMPTY);
+            return heads;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.koushik.techInterviewSim.service;
+
+/**
+ * Turns question text into a dense vector for {@link RelatedQuestionIndex}. Implementations
+ * must be deterministic and thread-safe; vectors need not be normalized. Select one with
+ * {@code app.related-questions.embedder}; the default is {@link HashingQuestionEmbedder}.
+ */
+public interface QuestionEmbedder {
+
+    int dimensions();
+
+    float[] embed(String text);
+}
@@ -0,0 +1,58 @@
+package com.koushik.techInterviewSim.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.koushik.techInterviewSim.entity.Question;
+import com.koushik.techInterviewSim.repository.QuestionRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the whole question bank as NDJSON, one row at a time from a database
+ * cursor. Rows are detached once written, so heap use does not depend on the size
+ * of the bank. The output can be fed straight back to the import endpoint.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QuestionExportService {
+
+    private final QuestionRepository questionRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    record ExportRow(Long id, String text, Question.QuestionCategory category,
+                     Question.QuestionDifficulty difficulty) {
+    }
+
+    @Transactional(readOnly = true)
+    public long exportQuestions(OutputStream out, boolean gzip) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, 8192) : out;
+        long rows = 0;
+        try (Stream<Question> questions = questionRepository.streamAllOrderedById();
+             SequenceWriter writer = objectMapper.writer()
+                     .withRootValueSeparator("\n")
+                     .writeValues(target)) {
+            for (Question question : (Iterable<Question>) questions::iterator) {
+                writer.write(new ExportRow(question.getId(), question.getText(),
+                    question.getCategory(), question.getDifficulty()));
+                entityManager.detach(question);
+                rows++;
+            }
+            if (rows > 0) {
+                writer.flush();
+                target.write('\n');
+            }
+        }
+        log.info("Exported {} questions", rows);
+        return rows;
+    }
+}
@@ -0,0 +1,320 @@
+package com.koushik.techInterviewSim.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.koushik.techInterviewSim.dto.QuestionImportReport;
+import com.koushik.techInterviewSim.entity.Question;
+import com.koushik.techInterviewSim.exception.ApiException;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streams NDJSON or CSV question rows from the request body and inserts them in JDBC
+ * batches, one transaction per batch. Only the current batch and the first few row
+ * errors are held in memory, whatever the size of the upload.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QuestionImportService {
+
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    public static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    private static final String PATH = "/api/questions/import";
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final QuestionCatalog questionCatalog;
+    private final QuestionDuplicateIndex questionDuplicateIndex;
+
+    @Value("${app.question-import.batch-size:500}")
+    private int batchSize;
+
+    private TransactionTemplate transactionTemplate;
+    private ObjectReader rowReader;
+
+    record ImportRow(String text, String category, String difficulty) {
+    }
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        rowReader = objectMapper.readerFor(ImportRow.class);
+    }
+
+    public QuestionImportReport importQuestions(InputStream body, MediaType contentType) throws IOException {
+        boolean csv = CSV.isCompatibleWith(contentType);
+        if (!csv && !NDJSON.isCompatibleWith(contentType)) {
+            throw ApiException.badRequest("Content type must be application/x-ndjson or text/csv", PATH);
+        }
+
+        Progress progress = new Progress();
+        long started = System.nanoTime();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        if (csv) {
+            readCsv(reader, progress);
+        } else {
+            readNdjson(reader, progress);
+        }
+        progress.flush();
+
+        if (progress.imported > 0) {
+            // One reload instead of a catalog rebuild per row
+            questionCatalog.reload();
+        }
+
+        long durationNanos = Math.max(1, System.nanoTime() - started);
+        double rowsPerSecond = progress.imported * 1_000_000_000.0 / durationNanos;
+        log.info("Imported {} of {} questions in {} ms ({} rows/s)",
+            progress.imported, progress.rows, durationNanos / 1_000_000, Math.round(rowsPerSecond));
+
+        return QuestionImportReport.builder()
+                .rows(progress.rows)
+                .imported(progress.imported)
+                .failed(progress.failed)
+                .errors(progress.errors)
+                .errorsTruncated(progress.failed > progress.errors.size())
+                .flagged(progress.flagged)
+                .duplicates(progress.duplicates)
+                .duplicatesTruncated(progress.flagged > progress.duplicates.size())
+                .durationMs(durationNanos / 1_000_000)
+                .rowsPerSecond(rowsPerSecond)
+                .build();
+    }
+
+    private void readNdjson(BufferedReader reader, Progress progress) throws IOException {
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            ImportRow row;
+            try {
+                row = rowReader.readValue(line);
+            } catch (JsonProcessingException ex) {
+                progress.reject(lineNumber, "Malformed JSON: " + ex.getOriginalMessage());
+                continue;
+            }
+            progress.accept(lineNumber, row);
+        }
+    }
+
+    private void readCsv(BufferedReader reader, Progress progress) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+        List<String> columns = header.stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+        int text = columns.indexOf("text");
+        int category = columns.indexOf("category");
+        int difficulty = columns.indexOf("difficulty");
+        if (text < 0 || category < 0 || difficulty < 0) {
+            throw ApiException.badRequest("CSV header must name text, category and difficulty columns", PATH);
+        }
+
+        List<String> fields;
+        while ((fields = csv.next()) != null) {
+            long lineNumber = csv.recordLine;
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            if (fields.size() != columns.size()) {
+                progress.reject(lineNumber, "Expected " + columns.size() + " fields but found " + fields.size());
+                continue;
+            }
+            progress.accept(lineNumber, new ImportRow(fields.get(text), fields.get(category), fields.get(difficulty)));
+        }
+    }
+
+    private static Question toQuestion(ImportRow row) {
+        if (row.text() == null || row.text().isBlank()) {
+            throw new IllegalArgumentException("Question text is required");
+        }
+        return Question.builder()
+                .text(row.text().trim())
+                .category(parse(Question.QuestionCategory.class, "category", row.category()))
+                .difficulty(parse(Question.QuestionDifficulty.class, "difficulty", row.difficulty()))
+                .build();
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String field, String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Question " + field + " is required");
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown " + field + ": " + value);
+        }
+    }
+
+    /**
+     * Counts, the first errors, and the batch waiting to be written.
+     */
+    private final class Progress {
+
+        final List<Question> batch = new ArrayList<>(batchSize);
+        final List<QuestionImportReport.RowError> errors = new ArrayList<>();
+        final List<QuestionImportReport.RowDuplicate> duplicates = new ArrayList<>();
+        long rows;
+        long imported;
+        long failed;
+        long flagged;
+        long batchFirstLine;
+
+        void accept(long line, ImportRow row) {
+            rows++;
+            Question question;
+            try {
+                question = toQuestion(row);
+            } catch (IllegalArgumentException ex) {
+                failed++;
+                recordError(line, ex.getMessage());
+                return;
+            }
+            flagDuplicate(line, question.getText());
+            if (batch.isEmpty()) {
+                batchFirstLine = line;
+            }
+            batch.add(question);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long line, String message) {
+            rows++;
+            failed++;
+            recordError(line, message);
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+                    batch.forEach(entityManager::persist);
+                    entityManager.flush();
+                    // Keep the persistence context from growing with the file
+                    entityManager.clear();
+                });
+                imported += batch.size();
+            } catch (DataAccessException ex) {
+                failed += batch.size();
+                recordError(batchFirstLine, "Batch of " + batch.size() + " rows starting here was not imported: "
+                    + ex.getMostSpecificCause().getMessage());
+            }
+            batch.clear();
+        }
+
+        // Against the bank as it was before this import; repeats within the file
+        // show up in the dedupe report afterwards
+        private void flagDuplicate(long line, String text) {
+            List<QuestionDuplicateIndex.Match> matches = questionDuplicateIndex.findSimilar(text, null);
+            if (matches.isEmpty()) {
+                return;
+            }
+            flagged++;
+            if (duplicates.size() < MAX_REPORTED_ERRORS) {
+                QuestionDuplicateIndex.Match best = matches.get(0);
+                duplicates.add(new QuestionImportReport.RowDuplicate(line, best.entry().id(), best.similarity()));
+            }
+        }
+
+        private void recordError(long line, String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new QuestionImportReport.RowError(line, message));
+            }
+        }
+    }
+
+    /**
+     * Minimal RFC 4180 reader: quoted fields may contain commas, doubled quotes and
+     * line breaks. Tracks the line each record starts on for error reporting.
+     */
+    private static final class CsvReader {
+
+        private final BufferedReader reader;
+        private long line;
+        long recordLine;
+
+        CsvReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        List<String> next() throws IOException {
+            String current = reader.readLine();
+            if (current == null) {
+                return null;
+            }
+            recordLine = ++line;
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == current.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    current = reader.readLine();
+                    if (current == null) {
+                        throw ApiException.badRequest("Unterminated quoted field starting on line " + recordLine, PATH);
+                    }
+                    line++;
+                    field.append('\n');
+                    i = 0;
+                    continue;
+                }
+                char c = current.charAt(i++);
+                if (quoted) {
+                    if (c == '"' && i < current.length() && current.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
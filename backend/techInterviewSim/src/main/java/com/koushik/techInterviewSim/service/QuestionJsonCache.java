@@ -0,0 +1,119 @@
+package com.koushik.techInterviewSim.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Question payloads already serialized to JSON, so hot reads skip both the DTO and
+ * Jackson. Each payload remembers the catalog entry it was encoded from; entries are
+ * immutable and replaced on every change, so an identity check is enough to reject a
+ * stale payload and an edit re-encodes only that question.
+ */
+@Component
+@RequiredArgsConstructor
+public class QuestionJsonCache {
+
+    // Cache entry, map node, String and array headers on top of the payload
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.question-json-cache.max-size:64MB}")
+    private DataSize maxSize;
+
+    private Cache<Long, Encoded> encodedById;
+
+    // Keeps the String for raw embedding in larger documents and lazily its UTF-8 bytes
+    private record Encoded(QuestionCatalog.Entry entry, SerializedString json) {
+    }
+
+    @PostConstruct
+    void init() {
+        encodedById = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                // The String is Latin-1 for most questions, so the bytes roughly double it
+                .weigher((Long id, Encoded encoded) -> ENTRY_OVERHEAD_BYTES + 2 * encoded.json().charLength())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, encodedById, "questionJson");
+    }
+
+    /**
+     * UTF-8 JSON for one question, identical to serializing its {@code QuestionDTO}.
+     * The returned array is shared; callers must not modify it.
+     */
+    public byte[] json(QuestionCatalog.Entry entry) {
+        return encoded(entry).asUnquotedUTF8();
+    }
+
+    /**
+     * Writes the questions as a JSON array straight from cached payloads. Nothing is
+     * assembled in between, so the only buffer is the response's own.
+     */
+    public void writeJsonArray(List<QuestionCatalog.Entry> entries, OutputStream out) throws IOException {
+        out.write('[');
+        for (int i = 0; i < entries.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(json(entries.get(i)));
+        }
+        out.write(']');
+    }
+
+    /**
+     * The cached payload as a value Jackson writes through verbatim, for embedding a
+     * question in a larger response such as a page.
+     */
+    public RawValue raw(QuestionCatalog.Entry entry) {
+        return new RawValue(encoded(entry));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionChanged(QuestionChangedEvent event) {
+        // Stale payloads are never served; this only frees the memory early
+        encodedById.invalidate(event.id());
+    }
+
+    @EventListener(QuestionCatalogReloadedEvent.class)
+    public void evictAll() {
+        encodedById.invalidateAll();
+    }
+
+    private SerializedString encoded(QuestionCatalog.Entry entry) {
+        Encoded cached = encodedById.getIfPresent(entry.id());
+        if (cached != null && cached.entry() == entry) {
+            return cached.json();
+        }
+        SerializedString json = new SerializedString(encode(entry));
+        encodedById.put(entry.id(), new Encoded(entry, json));
+        return json;
+    }
+
+    private String encode(QuestionCatalog.Entry entry) {
+        try {
+            return objectMapper.writeValueAsString(QuestionService.convertToDTO(entry));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize question " + entry.id(), ex);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.koushik.techInterviewSim.service;
+
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws distinct elements uniformly at random from a random-access pool in O(limit)
+ * time and space, independent of the pool size.
+ */
+public final class QuestionSampler {
+
+    private static final int REJECTION_ATTEMPTS_PER_ID = 8;
+
+    private QuestionSampler() {
+    }
+
+    /**
+     * Floyd's algorithm picks a uniformly random subset of indices, which is then
+     * shuffled so the order is uniformly random too. The same generator state and
+     * pool always produce the same sample.
+     */
+    public static <T> List<T> sample(List<T> pool, int limit, RandomGenerator random) {
+        int n = pool.size();
+        int k = Math.min(limit, n);
+        if (k <= 0) {
+            return List.of();
+        }
+
+        Set<Integer> chosen = new HashSet<>(k * 2);
+        List<Integer> indices = new ArrayList<>(k);
+        for (int j = n - k; j < n; j++) {
+            int t = random.nextInt(j + 1);
+            int pick = chosen.contains(t) ? j : t;
+            chosen.add(pick);
+            indices.add(pick);
+        }
+
+        List<T> result = new ArrayList<>(k);
+        for (int i = k - 1; i > 0; i--) {
+            int swap = random.nextInt(i + 1);
+            Integer tmp = indices.get(i);
+            indices.set(i, indices.get(swap));
+            indices.set(swap, tmp);
+        }
+        for (Integer index : indices) {
+            result.add(pool.get(index));
+        }
+        return result;
+    }
+
+    /**
+     * Draws up to {@code limit} ids from {@code pool} that are not in {@code seen}. Once
+     * fewer unseen ids remain than requested, all of them are returned first and the
+     * rest is drawn from seen ones, so an exhausted pool repeats instead of running dry.
+     */
+    public static List<Integer> sampleUnseen(ImmutableRoaringBitmap pool, ImmutableRoaringBitmap seen,
+                                             int limit, RandomGenerator random) {
+        // While most of the pool is unseen, rejection sampling by rank touches a handful of
+        // containers; the exact difference below is only built when that keeps missing
+        int poolSize = pool.getCardinality();
+        if (limit <= poolSize / 4) {
+            Set<Integer> picked = new LinkedHashSet<>(limit * 2);
+            int attempts = REJECTION_ATTEMPTS_PER_ID * limit;
+            while (attempts-- > 0 && picked.size() < limit) {
+                int id = pool.select(random.nextInt(poolSize));
+                if (!seen.contains(id)) {
+                    picked.add(id);
+                }
+            }
+            if (picked.size() == limit) {
+                return new ArrayList<>(picked);
+            }
+        }
+
+        MutableRoaringBitmap unseen = ImmutableRoaringBitmap.andNot(pool, seen);
+        int available = unseen.getCardinality();
+        if (available >= limit) {
+            return sample(ranks(unseen), limit, random);
+        }
+
+        List<Integer> result = new ArrayList<>(sample(ranks(unseen), available, random));
+        MutableRoaringBitmap repeats = ImmutableRoaringBitmap.and(pool, seen);
+        result.addAll(sample(ranks(repeats), limit - available, random));
+        return result;
+    }
+
+    // Random access by rank; select is a walk over the bitmap's containers, not its values
+    private static List<Integer> ranks(ImmutableRoaringBitmap bitmap) {
+        int size = bitmap.getCardinality();
+        return new AbstractList<>() {
+            @Override
+            public Integer get(int index) {
+                return bitmap.select(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
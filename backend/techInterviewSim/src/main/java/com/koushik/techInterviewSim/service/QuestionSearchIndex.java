@@ -0,0 +1,372 @@
+package com.koushik.techInterviewSim.service;
+
+import com.koushik.techInterviewSim.entity.Question;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over question text, ranked with BM25. Admin mutations are
+ * applied incrementally; deleted documents are tombstoned and dropped by the next
+ * compaction or catalog reload. With trigrams enabled, a query term also matches
+ * indexed terms that contain it, at a lower weight.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuestionSearchIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final float PARTIAL_WEIGHT = 0.5f;
+    private static final int MIN_PARTIAL_LENGTH = 3;
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 1024;
+
+    private final QuestionCatalog questionCatalog;
+
+    @Value("${app.question-search.trigrams:true}")
+    private boolean trigrams;
+
+    // Searches share the read lock; incremental updates and swaps take the write lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index(false);
+
+    @PostConstruct
+    void init() {
+        rebuild();
+    }
+
+    /**
+     * Rebuilds from the catalog off the read path. Synchronized with incremental
+     * updates so a change cannot be lost between reading the catalog and the swap.
+     */
+    @EventListener(QuestionCatalogReloadedEvent.class)
+    public synchronized void rebuild() {
+        Index rebuilt = new Index(trigrams);
+        questionCatalog.all().forEach(rebuilt::add);
+        swap(rebuilt);
+        log.debug("Question search index rebuilt with {} questions", rebuilt.liveCount());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onQuestionChanged(QuestionChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            index.remove(event.id());
+            if (!event.isDeleted()) {
+                index.add(event.entry());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (index.needsCompaction()) {
+            Index compacted = new Index(trigrams);
+            index.liveEntries().forEach(compacted::add);
+            swap(compacted);
+        }
+    }
+
+    public Page<QuestionCatalog.Entry> search(String query,
+                                              Question.QuestionCategory category,
+                                              Question.QuestionDifficulty difficulty,
+                                              Pageable pageable) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(TextTokenizer.tokenize(query)));
+
+        lock.readLock().lock();
+        try {
+            return index.search(terms, category, difficulty, pageable);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void swap(Index replacement) {
+        lock.writeLock().lock();
+        try {
+            index = replacement;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Document ids in insertion order, so every list stays sorted
+    private static final class Postings {
+
+        int[] docs = new int[2];
+        int[] freqs = new int[2];
+        int size;
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+    }
+
+    private static final class Index {
+
+        final boolean trigrams;
+        // Parallel per-document arrays; a null entry marks a deleted document
+        QuestionCatalog.Entry[] entries = new QuestionCatalog.Entry[16];
+        int[] lengths = new int[16];
+        int docCount;
+        final Map<Long, Integer> docByQuestion = new HashMap<>();
+        final Map<String, Postings> postings = new HashMap<>();
+        // Trigram -> indexed terms containing it, to expand partial words
+        final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+        long totalLength;
+        int tombstones;
+
+        Index(boolean trigrams) {
+            this.trigrams = trigrams;
+        }
+
+        void add(QuestionCatalog.Entry entry) {
+            List<String> terms = TextTokenizer.tokenize(entry.text());
+            int doc = docCount++;
+            if (doc == entries.length) {
+                entries = Arrays.copyOf(entries, doc * 2);
+                lengths = Arrays.copyOf(lengths, doc * 2);
+            }
+            entries[doc] = entry;
+            lengths[doc] = terms.size();
+            docByQuestion.put(entry.id(), doc);
+            totalLength += terms.size();
+
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (String term : terms) {
+                frequencies.merge(term, 1, Integer::sum);
+            }
+            frequencies.forEach((term, freq) -> postings.computeIfAbsent(term, this::newTerm).add(doc, freq));
+        }
+
+        void remove(Long questionId) {
+            Integer doc = docByQuestion.remove(questionId);
+            if (doc != null) {
+                totalLength -= lengths[doc];
+                entries[doc] = null;
+                tombstones++;
+            }
+        }
+
+        int liveCount() {
+            return docByQuestion.size();
+        }
+
+        boolean needsCompaction() {
+            return tombstones >= MIN_TOMBSTONES_TO_COMPACT && tombstones > liveCount();
+        }
+
+        List<QuestionCatalog.Entry> liveEntries() {
+            List<QuestionCatalog.Entry> entries = new ArrayList<>(liveCount());
+            for (int doc = 0; doc < docCount; doc++) {
+                if (this.entries[doc] != null) {
+                    entries.add(this.entries[doc]);
+                }
+            }
+            return entries;
+        }
+
+        Page<QuestionCatalog.Entry> search(List<String> queryTerms,
+                                           Question.QuestionCategory category,
+                                           Question.QuestionDifficulty difficulty,
+                                           Pageable pageable) {
+            int n = liveCount();
+            Map<String, Float> weights = expand(queryTerms);
+            if (n == 0 || weights.isEmpty()) {
+                return new PageImpl<>(List.of(), pageable, 0);
+            }
+
+            float avgLength = Math.max(1f, (float) totalLength / n);
+            Scores scores = new Scores();
+
+            for (Map.Entry<String, Float> term : weights.entrySet()) {
+                Postings list = postings.get(term.getKey());
+                int df = Math.min(list.size, n);
+                float weight = term.getValue() * (float) Math.log(1 + (n - df + 0.5) / (df + 0.5));
+
+                for (int i = 0; i < list.size; i++) {
+                    int doc = list.docs[i];
+                    QuestionCatalog.Entry entry = entries[doc];
+                    if (entry == null
+                            || (category != null && entry.category() != category)
+                            || (difficulty != null && entry.difficulty() != difficulty)) {
+                        continue;
+                    }
+                    int tf = list.freqs[i];
+                    scores.add(doc, weight * tf * (K1 + 1) / (tf + K1 * (1 - B + B * lengths[doc] / avgLength)));
+                }
+            }
+
+            int hits = scores.size;
+
+            long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+            if (offset >= hits) {
+                return new PageImpl<>(List.of(), pageable, hits);
+            }
+            int keep = pageable.isPaged() ? (int) Math.min(hits, offset + pageable.getPageSize()) : hits;
+
+            // Min-heap of the best `keep` hits: higher score first, then lower question id.
+            // Most hits lose to the current minimum on a primitive compare and never enter the heap.
+            Comparator<Integer> ranking = (a, b) -> outranks(scores, a, b) ? 1 : outranks(scores, b, a) ? -1 : 0;
+            PriorityQueue<Integer> top = new PriorityQueue<>(keep, ranking);
+            for (int hit = 0; hit < hits; hit++) {
+                if (top.size() < keep) {
+                    top.add(hit);
+                } else if (outranks(scores, hit, top.peek())) {
+                    top.poll();
+                    top.add(hit);
+                }
+            }
+
+            QuestionCatalog.Entry[] ranked = new QuestionCatalog.Entry[top.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = entries[scores.docs[top.poll()]];
+            }
+            return new PageImpl<>(
+                Arrays.asList(ranked).subList((int) offset, ranked.length), pageable, hits);
+        }
+
+        private boolean outranks(Scores scores, int a, int b) {
+            float scoreA = scores.values[a];
+            float scoreB = scores.values[b];
+            return scoreA > scoreB
+                || (scoreA == scoreB && entries[scores.docs[a]].id() < entries[scores.docs[b]].id());
+        }
+
+        // Exact terms at full weight, terms containing a query term at partial weight
+        private Map<String, Float> expand(List<String> queryTerms) {
+            Map<String, Float> weights = new HashMap<>();
+            for (String term : queryTerms) {
+                if (postings.containsKey(term)) {
+                    weights.merge(term, 1f, Math::max);
+                }
+                if (trigrams && term.length() >= MIN_PARTIAL_LENGTH) {
+                    for (String candidate : termsContaining(term)) {
+                        weights.merge(candidate, PARTIAL_WEIGHT, Math::max);
+                    }
+                }
+            }
+            return weights;
+        }
+
+        private List<String> termsContaining(String fragment) {
+            Set<String> smallest = null;
+            for (String trigram : trigramsOf(fragment)) {
+                Set<String> terms = termsByTrigram.get(trigram);
+                if (terms == null) {
+                    return List.of();
+                }
+                if (smallest == null || terms.size() < smallest.size()) {
+                    smallest = terms;
+                }
+            }
+            List<String> matches = new ArrayList<>();
+            for (String candidate : smallest) {
+                if (candidate.contains(fragment)) {
+                    matches.add(candidate);
+                }
+            }
+            return matches;
+        }
+
+        private Postings newTerm(String term) {
+            if (trigrams) {
+                for (String trigram : trigramsOf(term)) {
+                    termsByTrigram.computeIfAbsent(trigram, key -> new HashSet<>()).add(term);
+                }
+            }
+            return new Postings();
+        }
+
+        private static List<String> trigramsOf(String term) {
+            List<String> result = new ArrayList<>(Math.max(0, term.length() - 2));
+            for (int i = 0; i + 3 <= term.length(); i++) {
+                result.add(term.substring(i, i + 3));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Per-query BM25 accumulator: an open-addressing table from doc to hit, with scores
+     * kept in hit order. A query allocates in proportion to the docs it matches, not to the
+     * size of the index.
+     */
+    private static final class Scores {
+
+        private static final int INITIAL_CAPACITY = 64;
+
+        // Hit number + 1 per slot, 0 when free; at most half full
+        private int[] slots = new int[INITIAL_CAPACITY];
+        private int[] docs = new int[INITIAL_CAPACITY / 2];
+        private float[] values = new float[INITIAL_CAPACITY / 2];
+        private int size;
+
+        void add(int doc, float score) {
+            int mask = slots.length - 1;
+            int slot = hash(doc) & mask;
+            while (slots[slot] != 0) {
+                int hit = slots[slot] - 1;
+                if (docs[hit] == doc) {
+                    values[hit] += score;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            docs[size] = doc;
+            values[size] = score;
+            slots[slot] = ++size;
+            if (size * 2 > slots.length) {
+                rehash();
+            }
+        }
+
+        private void rehash() {
+            slots = new int[slots.length * 2];
+            int mask = slots.length - 1;
+            for (int hit = 0; hit < size; hit++) {
+                int slot = hash(docs[hit]) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = hit + 1;
+            }
+        }
+
+        // Doc numbers are dense; spread them so neighbours do not cluster
+        private static int hash(int doc) {
+            int h = doc * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -1,23 +1,46 @@
 package com.koushik.techInterviewSim.service;
 
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.koushik.techInterviewSim.dto.CursorPage;
+import com.koushik.techInterviewSim.dto.DuplicateMatch;
+import com.koushik.techInterviewSim.dto.DuplicateReport;
 import com.koushik.techInterviewSim.dto.QuestionDTO;
+import com.koushik.techInterviewSim.dto.QuestionSummaryDTO;
 import com.koushik.techInterviewSim.entity.Question;
 import com.koushik.techInterviewSim.exception.ApiException;
 import com.koushik.techInterviewSim.repository.QuestionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
 
 @Service
 @RequiredArgsConstructor
 public class QuestionService {
 
+    private static final int MAX_RELATED = 50;
+
     private final QuestionRepository questionRepository;
+    private final QuestionCatalog questionCatalog;
+    private final QuestionSearchIndex questionSearchIndex;
+    private final SeenQuestionTracker seenQuestionTracker;
+    private final QuestionDuplicateIndex questionDuplicateIndex;
+    private final RelatedQuestionIndex relatedQuestionIndex;
+    private final QuestionJsonCache questionJsonCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public Page<QuestionDTO> getAllQuestions(Pageable pageable) {
@@ -25,10 +48,30 @@ public class QuestionService {
                 .map(this::convertToDTO);
     }
 
-    @Transactional(readOnly = true)
-    public QuestionDTO getQuestionById(Long id) {
-        return questionRepository.findById(id)
-                .map(this::convertToDTO)
+    // Keyset listing over the catalog by id; no count and no offset scan
+    public CursorPage<QuestionDTO> scrollQuestions(String cursor, int size) {
+        int pageSize = KeysetCursor.pageSize(size, "/api/questions/scroll");
+        long afterId = cursor == null
+            ? Long.MIN_VALUE
+            : KeysetCursor.decode(cursor, 1, "/api/questions/scroll", keys -> Long.parseLong(keys[0]));
+
+        return CursorPage.of(
+            questionCatalog.after(afterId, pageSize + 1),
+            pageSize,
+            QuestionService::convertToDTO,
+            last -> KeysetCursor.encode(last.id())
+        );
+    }
+
+    // Validators for conditional GETs on catalog-backed reads
+    public QuestionCatalog.Revision getCatalogRevision() {
+        return questionCatalog.revision();
+    }
+
+    // Served from the in-memory catalog as pre-encoded JSON, no database round trip
+    public byte[] getQuestionJson(Long id) {
+        return questionCatalog.find(id)
+                .map(questionJsonCache::json)
                 .orElseThrow(() -> new ApiException(
                     HttpStatus.NOT_FOUND,
                     "Question not found with id: " + id,
@@ -36,20 +79,23 @@ public class QuestionService {
                 ));
     }
 
-    @Transactional(readOnly = true)
-    public List<QuestionDTO> getQuestionsByCategory(Question.QuestionCategory category) {
-        return questionRepository.findByCategory(category)
-                .stream()
-                .map(this::convertToDTO)
-                .toList();
+    // Catalog buckets are already in id order; only the requested slice is mapped
+    public Page<RawValue> getQuestionsByCategory(Question.QuestionCategory category, Pageable pageable) {
+        return page(questionCatalog.byCategory(category), pageable, questionJsonCache::raw);
     }
 
-    @Transactional(readOnly = true)
-    public List<QuestionDTO> getQuestionsByDifficulty(Question.QuestionDifficulty difficulty) {
-        return questionRepository.findByDifficulty(difficulty)
-                .stream()
-                .map(this::convertToDTO)
-                .toList();
+    public Page<QuestionSummaryDTO> getQuestionSummariesByCategory(Question.QuestionCategory category,
+                                                                   Pageable pageable) {
+        return page(questionCatalog.byCategory(category), pageable, this::convertToSummary);
+    }
+
+    public Page<RawValue> getQuestionsByDifficulty(Question.QuestionDifficulty difficulty, Pageable pageable) {
+        return page(questionCatalog.byDifficulty(difficulty), pageable, questionJsonCache::raw);
+    }
+
+    public Page<QuestionSummaryDTO> getQuestionSummariesByDifficulty(Question.QuestionDifficulty difficulty,
+                                                                     Pageable pageable) {
+        return page(questionCatalog.byDifficulty(difficulty), pageable, this::convertToSummary);
     }
 
     @Transactional
@@ -59,8 +105,10 @@ public class QuestionService {
                 .category(questionDTO.getCategory())
                 .difficulty(questionDTO.getDifficulty())
                 .build();
-        
-        return convertToDTO(questionRepository.save(question));
+
+        Question saved = questionRepository.save(question);
+        eventPublisher.publishEvent(QuestionChangedEvent.saved(saved));
+        return withPossibleDuplicates(convertToDTO(saved));
     }
 
     @Transactional
@@ -72,6 +120,7 @@ public class QuestionService {
                     "/api/questions/" + id
                 ));
 
+        boolean textChanged = questionDTO.getText() != null && !questionDTO.getText().equals(question.getText());
         if (questionDTO.getText() != null) {
             question.setText(questionDTO.getText());
         }
@@ -82,7 +131,9 @@ public class QuestionService {
             question.setDifficulty(questionDTO.getDifficulty());
         }
 
-        return convertToDTO(questionRepository.save(question));
+        Question saved = questionRepository.save(question);
+        eventPublisher.publishEvent(QuestionChangedEvent.saved(saved));
+        return textChanged ? withPossibleDuplicates(convertToDTO(saved)) : convertToDTO(saved);
     }
 
     @Transactional
@@ -95,23 +146,127 @@ public class QuestionService {
             );
         }
         questionRepository.deleteById(id);
+        eventPublisher.publishEvent(QuestionChangedEvent.deleted(id));
     }
 
-    @Transactional(readOnly = true)
-    public List<QuestionDTO> getRandomQuestions(
+    /**
+     * Samples from the catalog's pool for the category and difficulty. Passing a seed
+     * makes the draw reproducible for as long as that pool is unchanged.
+     */
+    public void writeRandomQuestions(
+            Question.QuestionCategory category,
+            Question.QuestionDifficulty difficulty,
+            int limit,
+            Long seed,
+            OutputStream out) throws IOException {
+        if (limit < 1) {
+            throw ApiException.badRequest("Limit must be at least 1", "/api/questions/random");
+        }
+
+        questionJsonCache.writeJsonArray(QuestionSampler.sample(
+            questionCatalog.byCategoryAndDifficulty(category, difficulty), limit, random(seed)), out);
+    }
+
+    /**
+     * Like {@link #writeRandomQuestions}, but draws questions the user has not been asked
+     * before, as long as the pool has any left, and records the draw. The pool and the
+     * user's history are both bitmaps, so this does not grow with the history.
+     */
+    public List<QuestionDTO> drawUnseenQuestions(
+            Long userId,
             Question.QuestionCategory category,
             Question.QuestionDifficulty difficulty,
-            int limit) {
-        return questionRepository.findRandomQuestions(
-                category.name(),
-                difficulty.name(),
-                limit
-            )
+            int limit,
+            Long seed) {
+        return seenQuestionTracker.draw(userId, questionCatalog.idsIn(category, difficulty), limit, random(seed))
             .stream()
-            .map(this::convertToDTO)
+            .map(id -> questionCatalog.find(id.longValue()))
+            .flatMap(Optional::stream)
+            .map(QuestionService::convertToDTO)
             .toList();
     }
 
+    /**
+     * Relevance-ranked full-text search; the page's sort is ignored.
+     */
+    public Page<QuestionDTO> searchQuestions(
+            String query,
+            Question.QuestionCategory category,
+            Question.QuestionDifficulty difficulty,
+            Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            throw ApiException.badRequest("Search query must not be blank", "/api/questions/search");
+        }
+        return questionSearchIndex.search(query, category, difficulty, pageable)
+            .map(QuestionService::convertToDTO);
+    }
+
+    /**
+     * Questions whose embeddings are nearest to this one's, most similar first. The
+     * vector index is approximate, so a close match is occasionally missed.
+     */
+    public List<QuestionDTO> getRelatedQuestions(Long id, int k) {
+        String path = "/api/questions/" + id + "/related";
+        if (k < 1 || k > MAX_RELATED) {
+            throw ApiException.badRequest("k must be between 1 and " + MAX_RELATED, path);
+        }
+        if (questionCatalog.find(id).isEmpty()) {
+            throw new ApiException(HttpStatus.NOT_FOUND, "Question not found with id: " + id, path);
+        }
+
+        return relatedQuestionIndex.related(id, k)
+            .stream()
+            .map(match -> convertToDTO(match.entry()))
+            .toList();
+    }
+
+    /**
+     * Clusters of likely duplicates across the whole bank, largest first. Only
+     * questions sharing an LSH band are compared, never every pair.
+     */
+    public DuplicateReport getDuplicateReport(int limit) {
+        if (limit < 1) {
+            throw ApiException.badRequest("Limit must be at least 1", "/api/questions/duplicates");
+        }
+        long started = System.nanoTime();
+        List<List<QuestionCatalog.Entry>> clusters = questionDuplicateIndex.clusters();
+
+        return DuplicateReport.builder()
+                .threshold(questionDuplicateIndex.threshold())
+                .questions(questionCatalog.size())
+                .totalClusters(clusters.size())
+                .clusters(clusters.stream()
+                    .limit(limit)
+                    .map(cluster -> cluster.stream().map(QuestionService::convertToDTO).toList())
+                    .toList())
+                .durationMs((System.nanoTime() - started) / 1_000_000)
+                .build();
+    }
+
+    // Flags, but does not block: a similar text can still be a distinct question
+    private QuestionDTO withPossibleDuplicates(QuestionDTO dto) {
+        List<DuplicateMatch> matches = questionDuplicateIndex.findSimilar(dto.getText(), dto.getId())
+            .stream()
+            .map(match -> new DuplicateMatch(match.entry().id(), match.similarity()))
+            .toList();
+        dto.setPossibleDuplicates(matches);
+        return dto;
+    }
+
+    private static RandomGenerator random(Long seed) {
+        return seed != null ? new SplittableRandom(seed) : ThreadLocalRandom.current();
+    }
+
+    private static <T> Page<T> page(List<QuestionCatalog.Entry> bucket, Pageable pageable,
+                                    Function<QuestionCatalog.Entry, T> mapper) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(bucket.stream().map(mapper).toList(), pageable, bucket.size());
+        }
+        int from = (int) Math.min(bucket.size(), pageable.getOffset());
+        int to = (int) Math.min(bucket.size(), (long) from + pageable.getPageSize());
+        return new PageImpl<>(bucket.subList(from, to).stream().map(mapper).toList(), pageable, bucket.size());
+    }
+
     private QuestionDTO convertToDTO(Question question) {
         return QuestionDTO.builder()
                 .id(question.getId())
@@ -120,4 +275,18 @@ public class QuestionService {
                 .difficulty(question.getDifficulty())
                 .build();
     }
+
+    // Also what QuestionJsonCache encodes, so cached and freshly built payloads match
+    static QuestionDTO convertToDTO(QuestionCatalog.Entry entry) {
+        return QuestionDTO.builder()
+                .id(entry.id())
+                .text(entry.text())
+                .category(entry.category())
+                .difficulty(entry.difficulty())
+                .build();
+    }
+
+    private QuestionSummaryDTO convertToSummary(QuestionCatalog.Entry entry) {
+        return new QuestionSummaryDTO(entry.id(), entry.category(), entry.difficulty());
+    }
 }
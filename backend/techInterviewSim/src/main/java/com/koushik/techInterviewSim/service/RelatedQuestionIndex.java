@@ -0,0 +1,342 @@
+package com.koushik.techInterviewSim.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Approximate nearest-neighbour index over question embeddings, backed by an
+ * {@link HnswGraph}. Unlike the other catalog views it is never rebuilt wholesale on a
+ * reload: only new, re-worded and removed questions touch the graph, because inserting
+ * is the expensive part at a million questions.
+ * The initial graph and compacted copies are built on a background thread and swapped in
+ * when done; until the first one is, lookups find nothing. Changes that arrive during a
+ * build are applied to the graph being served and replayed onto the new one.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RelatedQuestionIndex {
+
+    private static final int MAX_LINKS = 16;
+    private static final int EF_CONSTRUCTION = 100;
+    private static final long SEED = 0x5EEDL;
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 1024;
+
+    private final QuestionCatalog questionCatalog;
+    private final QuestionEmbedder embedder;
+
+    @Value("${app.related-questions.ef-search:64}")
+    private int efSearch;
+
+    // Lookups share the read lock; each graph change and the swap take the write lock on
+    // their own, so neither a build nor a long reconcile stalls readers
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index;
+
+    // Questions changed while a replacement graph is built; non-null only meanwhile. Guarded by this
+    private Set<Long> changedDuringBuild;
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+    // Builds and reconciles, one at a time and off the caller's thread
+    private ExecutorService builder;
+
+    /**
+     * A related question and the cosine similarity of its embedding to the source's.
+     */
+    public record Match(QuestionCatalog.Entry entry, double similarity) {
+    }
+
+    @PostConstruct
+    void init() {
+        index = new Index(newGraph());
+        builder = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("related-questions-"));
+        rebuild("initial", () -> {
+            Index built = new Index(newGraph());
+            for (QuestionCatalog.Entry entry : questionCatalog.all()) {
+                built.add(entry, embedder.embed(entry.text()));
+            }
+            return built;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        builder.shutdownNow();
+    }
+
+    /**
+     * Brings the graph in line with the catalog, in the background. Unchanged questions
+     * only have their entry refreshed, so a reload after a bulk import costs one insert
+     * per new row.
+     */
+    @EventListener(QuestionCatalogReloadedEvent.class)
+    public void reconcile() {
+        builder.execute(() -> {
+            List<QuestionCatalog.Entry> entries = questionCatalog.all();
+            Set<Long> live = new HashSet<>(entries.size() * 2);
+            for (QuestionCatalog.Entry entry : entries) {
+                live.add(entry.id());
+                sync(entry.id());
+            }
+            List<Long> indexed;
+            lock.readLock().lock();
+            try {
+                indexed = index.questionIds();
+            } finally {
+                lock.readLock().unlock();
+            }
+            for (Long id : indexed) {
+                if (!live.contains(id)) {
+                    sync(id);
+                }
+            }
+            compactIfNeeded();
+            log.debug("Related question index reconciled with {} questions", entries.size());
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionChanged(QuestionChangedEvent event) {
+        synchronized (this) {
+            if (changedDuringBuild != null) {
+                changedDuringBuild.add(event.id());
+            }
+        }
+        sync(event.id());
+        compactIfNeeded();
+    }
+
+    /**
+     * Up to {@code k} questions most similar to the given one, best first. Empty if the
+     * question is not indexed.
+     */
+    public List<Match> related(Long questionId, int k) {
+        lock.readLock().lock();
+        try {
+            return index.related(questionId, k, efSearch);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Blocks until the builds and reconciles queued so far have finished
+    void awaitBuilds() throws InterruptedException, ExecutionException {
+        builder.submit(() -> { }).get();
+    }
+
+    /**
+     * Brings one question of the served graph in line with the catalog, which has already
+     * applied every change. The embedding is computed outside the lock and only applied if
+     * the catalog still holds the entry it was computed for, so a slow re-embed cannot
+     * overwrite a newer one.
+     */
+    private void sync(Long questionId) {
+        QuestionCatalog.Entry current = questionCatalog.find(questionId).orElse(null);
+        lock.writeLock().lock();
+        try {
+            if (current == null) {
+                index.remove(questionId);
+                return;
+            }
+            if (index.refresh(current)) {
+                return;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        float[] vector = embedder.embed(current.text());
+        lock.writeLock().lock();
+        try {
+            if (questionCatalog.find(questionId).filter(current::equals).isPresent()) {
+                index.remove(questionId);
+                index.add(current, vector);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void compactIfNeeded() {
+        lock.readLock().lock();
+        try {
+            if (!index.needsCompaction()) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (compactionScheduled.compareAndSet(false, true)) {
+            rebuild("compacted", this::compacted);
+        }
+    }
+
+    /**
+     * Builds a replacement graph on the builder thread, then swaps it in. The monitor is
+     * only held to start tracking changes and to swap; the tracked changes are replayed
+     * onto the new graph afterwards, as they may be missing or stale in it.
+     */
+    private void rebuild(String kind, Supplier<Index> build) {
+        builder.execute(() -> {
+            synchronized (this) {
+                changedDuringBuild = new HashSet<>();
+            }
+            try {
+                Index built = build.get();
+                Set<Long> changed;
+                synchronized (this) {
+                    lock.writeLock().lock();
+                    try {
+                        index = built;
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                    changed = changedDuringBuild;
+                    changedDuringBuild = null;
+                }
+                changed.forEach(this::sync);
+                log.debug("Related question index swapped in a {} graph of {} questions", kind, built.size());
+            } catch (RuntimeException ex) {
+                log.error("Could not build the {} related question graph", kind, ex);
+            } finally {
+                synchronized (this) {
+                    changedDuringBuild = null;
+                }
+                compactionScheduled.set(false);
+            }
+        });
+    }
+
+    // Re-inserts the stored vectors of the served graph, so the embedder is not called again.
+    // Nodes are only ever appended, so reading them one at a time under the read lock is enough
+    private Index compacted() {
+        Index source;
+        int size;
+        lock.readLock().lock();
+        try {
+            source = index;
+            size = source.graph.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Index compacted = new Index(newGraph());
+        for (int node = 0; node < size; node++) {
+            QuestionCatalog.Entry entry = null;
+            byte[] vector = null;
+            lock.readLock().lock();
+            try {
+                if (!source.graph.isDeleted(node)) {
+                    entry = source.entries[node];
+                    vector = source.graph.vector(node);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (entry != null) {
+                compacted.add(entry, vector);
+            }
+        }
+        return compacted;
+    }
+
+    private HnswGraph newGraph() {
+        return new HnswGraph(embedder.dimensions(), MAX_LINKS, EF_CONSTRUCTION, SEED);
+    }
+
+    private static final class Index {
+
+        final HnswGraph graph;
+        // Parallel to graph nodes; null once a node is deleted
+        QuestionCatalog.Entry[] entries = new QuestionCatalog.Entry[16];
+        final Map<Long, Integer> nodeByQuestion = new HashMap<>();
+
+        Index(HnswGraph graph) {
+            this.graph = graph;
+        }
+
+        /**
+         * Swaps in a newer entry for an indexed question whose text is unchanged, so the
+         * embedding still holds. False if the question needs (re-)inserting.
+         */
+        boolean refresh(QuestionCatalog.Entry entry) {
+            Integer node = nodeByQuestion.get(entry.id());
+            if (node == null || !Objects.equals(entries[node].text(), entry.text())) {
+                return false;
+            }
+            entries[node] = entry;
+            return true;
+        }
+
+        void add(QuestionCatalog.Entry entry, float[] vector) {
+            add(entry, graph.add(vector));
+        }
+
+        void add(QuestionCatalog.Entry entry, byte[] quantized) {
+            add(entry, graph.add(quantized));
+        }
+
+        private void add(QuestionCatalog.Entry entry, int node) {
+            if (node >= entries.length) {
+                entries = Arrays.copyOf(entries, Math.max(node + 1, entries.length * 2));
+            }
+            entries[node] = entry;
+            nodeByQuestion.put(entry.id(), node);
+        }
+
+        void remove(Long questionId) {
+            Integer node = nodeByQuestion.remove(questionId);
+            if (node != null) {
+                graph.delete(node);
+                entries[node] = null;
+            }
+        }
+
+        int size() {
+            return nodeByQuestion.size();
+        }
+
+        List<Long> questionIds() {
+            return new ArrayList<>(nodeByQuestion.keySet());
+        }
+
+        boolean needsCompaction() {
+            int tombstones = graph.deletedCount();
+            return tombstones >= MIN_TOMBSTONES_TO_COMPACT && tombstones > nodeByQuestion.size();
+        }
+
+        List<Match> related(Long questionId, int k, int ef) {
+            Integer node = nodeByQuestion.get(questionId);
+            if (node == null) {
+                return List.of();
+            }
+            List<Match> matches = new ArrayList<>(k);
+            for (HnswGraph.Neighbor neighbor : graph.neighbors(node, k, ef)) {
+                matches.add(new Match(entries[neighbor.node()], neighbor.similarity()));
+            }
+            return matches;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.koushik.techInterviewSim.service;
+
+import com.koushik.techInterviewSim.entity.SchedulerLock;
+import com.koushik.techInterviewSim.repository.SchedulerLockRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Lease locks in the database, so a scheduled job runs on one instance at a time. A lock
+ * is taken by a conditional UPDATE that only matches an expired lease, so no transaction
+ * stays open while the job runs, and an instance that dies mid-run holds the lock only
+ * until its lease ends. Leases are compared on each instance's clock, which must agree
+ * to well within a lease.
+ */
+@Component
+@RequiredArgsConstructor
+public class SchedulerLocks {
+
+    private final SchedulerLockRepository lockRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    // pid@host, plus a suffix in case two application contexts share a JVM
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName()
+        + "/" + UUID.randomUUID().toString().substring(0, 8);
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Takes the named lock for at most {@code lease}. False if another run, on any
+     * instance including this one, holds it.
+     */
+    public boolean tryLock(String name, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(lease);
+        Integer acquired = transactionTemplate.execute(status -> lockRepository.tryAcquire(name, owner, now, until));
+        if (acquired != null && acquired == 1) {
+            return true;
+        }
+        if (lockRepository.existsById(name)) {
+            return false;
+        }
+
+        // First run anywhere: whoever inserts the row holds the lock
+        try {
+            transactionTemplate.executeWithoutResult(status -> lockRepository.saveAndFlush(SchedulerLock.builder()
+                    .name(name)
+                    .lockedUntil(until)
+                    .lockedAt(now)
+                    .lockedBy(owner)
+                    .build()));
+            return true;
+        } catch (DataIntegrityViolationException ex) {
+            return false;
+        }
+    }
+
+    public void unlock(String name) {
+        transactionTemplate.executeWithoutResult(status -> lockRepository.release(name, owner, LocalDateTime.now()));
+    }
+}
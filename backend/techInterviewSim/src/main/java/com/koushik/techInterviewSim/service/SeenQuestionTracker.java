@@ -0,0 +1,136 @@
+package com.koushik.techInterviewSim.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.koushik.techInterviewSim.repository.InterviewSessionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Per-user bitmaps of the questions already drawn for that user. A bitmap is built on
+ * first use from the user's sessions and then kept in a cache bounded by total bitmap
+ * size; values are softly referenced, so the GC may drop them under memory pressure and
+ * they are rebuilt on the next draw.
+ * Best effort across instances: a draw on another node is seen here once the entry expires.
+ */
+@Component
+@RequiredArgsConstructor
+public class SeenQuestionTracker {
+
+    // Cache entry, map node and bitmap headers on top of the serialized size
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private final InterviewSessionRepository sessionRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.seen-questions.cache-max-size:64MB}")
+    private DataSize cacheMaxSize;
+
+    @Value("${app.seen-questions.ttl:10m}")
+    private Duration cacheTtl;
+
+    private Cache<Long, MutableRoaringBitmap> seenByUser;
+
+    @PostConstruct
+    void init() {
+        seenByUser = Caffeine.newBuilder()
+                .maximumWeight(cacheMaxSize.toBytes())
+                .weigher((Long userId, MutableRoaringBitmap bitmap) ->
+                    ENTRY_OVERHEAD_BYTES + bitmap.serializedSizeInBytes())
+                .softValues()
+                .expireAfter(new Expiry<Long, MutableRoaringBitmap>() {
+                    @Override
+                    public long expireAfterCreate(Long userId, MutableRoaringBitmap bitmap, long currentTime) {
+                        return cacheTtl.toNanos();
+                    }
+
+                    // Re-weighing after a draw must not push back the resync with other instances
+                    @Override
+                    public long expireAfterUpdate(Long userId, MutableRoaringBitmap bitmap,
+                                                  long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long userId, MutableRoaringBitmap bitmap,
+                                                long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, seenByUser, "seenQuestions");
+    }
+
+    /**
+     * Draws from {@code pool} preferring ids the user has not seen, and marks the drawn
+     * ids as seen. Draws for the same user on this instance are serialized, so two
+     * concurrent requests never hand out the same unseen question.
+     * Marks are not rolled back with a failed transaction; that only hides a question
+     * until the entry is rebuilt.
+     */
+    public List<Integer> draw(Long userId, ImmutableRoaringBitmap pool, int limit, RandomGenerator random) {
+        MutableRoaringBitmap seen = seenByUser.get(userId, this::load);
+        synchronized (seen) {
+            List<Integer> drawn = QuestionSampler.sampleUnseen(pool, seen, limit, random);
+            drawn.forEach(seen::add);
+            // The bitmap grew in place; writing it back re-weighs the entry, unless it was evicted meanwhile
+            seenByUser.asMap().replace(userId, seen, seen);
+            return drawn;
+        }
+    }
+
+    public void evict(Long userId) {
+        seenByUser.invalidate(userId);
+    }
+
+    public void evictAll() {
+        seenByUser.invalidateAll();
+    }
+
+    public static byte[] serialize(ImmutableRoaringBitmap bitmap) {
+        ByteBuffer buffer = ByteBuffer.allocate(bitmap.serializedSizeInBytes());
+        bitmap.serialize(buffer);
+        return buffer.array();
+    }
+
+    public static MutableRoaringBitmap deserialize(byte[] bytes) {
+        MutableRoaringBitmap bitmap = new MutableRoaringBitmap();
+        if (bytes == null || bytes.length == 0) {
+            return bitmap;
+        }
+        try {
+            bitmap.deserialize(new DataInputStream(new ByteArrayInputStream(bytes)));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Corrupt question bitmap", ex);
+        }
+        return bitmap;
+    }
+
+    private MutableRoaringBitmap load(Long userId) {
+        MutableRoaringBitmap seen = new MutableRoaringBitmap();
+        for (byte[] asked : sessionRepository.findAskedQuestionsByUserId(userId)) {
+            seen.or(deserialize(asked));
+        }
+        seen.runOptimize();
+        return seen;
+    }
+}
@@ -0,0 +1,415 @@
+package com.koushik.techInterviewSim.service;
+
+import com.koushik.techInterviewSim.entity.InterviewSession;
+import com.koushik.techInterviewSim.entity.SessionTurn;
+import com.koushik.techInterviewSim.exception.ApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.DataException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Write-behind log of interview transcript turns. Appending only queues the turn under its
+ * session; a flush writes everything pending in JDBC batches of {@code batch-size}, one short
+ * transaction per batch, once a batch has filled up or the flush interval has passed.
+ * In flush-on-end mode, ending a session writes that session's turns once the end has
+ * committed. Transcript reads merge the queued turns with the written ones instead of
+ * waiting for a flush.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SessionTurnLog {
+
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.session-turns.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.session-turns.max-pending:100000}")
+    private int maxPending;
+
+    @Value("${app.session-turns.flush-on-end:true}")
+    private boolean flushOnEnd;
+
+    private final ConcurrentMap<Long, SessionQueue> pending = new ConcurrentHashMap<>();
+    // Turns queued across all sessions
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    // At most one flush waits on the flusher thread at a time
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService flusher;
+    private Counter written;
+    private Counter dropped;
+    private Counter rejected;
+    private Timer batchTimer;
+
+    /**
+     * A turn waiting to be written. The answer time is the server's; the ask time, if
+     * any, is the client's.
+     */
+    public record Turn(Long sessionId, Long questionId, String answer, LocalDateTime askedAt, LocalDateTime answeredAt) {
+
+        SessionTurn toEntity(InterviewSession session) {
+            Long latencyMs = askedAt == null
+                ? null
+                // Client and server clocks may disagree by more than the answer took
+                : Math.max(0, Duration.between(askedAt, answeredAt).toMillis());
+            return SessionTurn.builder()
+                    .session(session)
+                    .questionId(questionId)
+                    .answer(answer)
+                    .askedAt(askedAt)
+                    .answeredAt(answeredAt)
+                    .latencyMs(latencyMs)
+                    .build();
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // Never join the caller's transaction: turns commit on their own, and clearing the
+        // batch's persistence context must leave the caller's alone
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        flusher = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("session-turns-"));
+
+        written = Counter.builder("session.turns.written").register(meterRegistry);
+        dropped = Counter.builder("session.turns.dropped").register(meterRegistry);
+        rejected = Counter.builder("session.turns.rejected").register(meterRegistry);
+        batchTimer = Timer.builder("session.turns.batch").register(meterRegistry);
+        Gauge.builder("session.turns.pending", pendingCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * Queues a turn and returns at once. Fails with a 503 when {@code max-pending} turns
+     * are already waiting, i.e. the database has fallen that far behind.
+     */
+    public void append(Turn turn) {
+        if (pendingCount.incrementAndGet() > maxPending) {
+            pendingCount.decrementAndGet();
+            rejected.increment();
+            throw ApiException.serviceUnavailable(
+                "Transcript log is busy, please retry shortly",
+                "/api/sessions/" + turn.sessionId() + "/turns"
+            );
+        }
+        // A queue emptied by a flush is retired, and unmapped before that can be seen
+        boolean added;
+        do {
+            added = pending.computeIfAbsent(turn.sessionId(), SessionQueue::new).add(turn);
+        } while (!added);
+        if (pendingCount.get() >= batchSize) {
+            requestFlush();
+        }
+    }
+
+    /**
+     * Called as a session ends. In flush-on-end mode, the session's turns are written once
+     * the surrounding transaction commits, so they never hold up the end itself.
+     */
+    public void sessionEnded(Long sessionId) {
+        if (!flushOnEnd) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            flush(sessionId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                SessionTurnLog.this.flush(sessionId);
+            }
+        });
+    }
+
+    // Hands off to the flusher thread, so the scheduler is never held up by the database
+    @Scheduled(fixedDelayString = "${app.session-turns.flush-interval:1000}")
+    public void requestFlush() {
+        if (pendingCount.get() == 0 || !flushRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            flusher.execute(() -> {
+                flushRequested.set(false);
+                flush();
+            });
+        } catch (RejectedExecutionException ex) {
+            // Shutting down; the final flush picks the turns up
+            flushRequested.set(false);
+        }
+    }
+
+    /**
+     * Writes everything pending. If the database is unavailable the unwritten turns stay
+     * queued for the next trigger.
+     */
+    public synchronized void flush() {
+        while (true) {
+            // Sessions a per-session flush is writing are left to it
+            List<Claim> claims = new ArrayList<>();
+            int claimed = 0;
+            for (SessionQueue queue : pending.values()) {
+                if (claimed == batchSize) {
+                    break;
+                }
+                Claim claim = queue.tryClaim(batchSize - claimed);
+                if (claim != null) {
+                    claims.add(claim);
+                    claimed += claim.turns().size();
+                }
+            }
+            if (claims.isEmpty() || !write(claims)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Writes one session's pending turns, after any flush already writing some of them.
+     */
+    public void flush(Long sessionId) {
+        SessionQueue queue = pending.get(sessionId);
+        if (queue == null) {
+            return;
+        }
+        while (true) {
+            Claim claim = queue.claim(batchSize);
+            if (claim == null || !write(List.of(claim))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * The session's persisted turns, as read by {@code persisted}, together with those still
+     * queued, in answer order. No flush of the session can commit between the two reads,
+     * so a turn is neither missed nor seen twice.
+     */
+    public List<SessionTurn> transcript(Long sessionId, Supplier<List<SessionTurn>> persisted) {
+        SessionQueue queue = pending.get(sessionId);
+        return queue == null ? persisted.get() : queue.read(persisted);
+    }
+
+    public int pending() {
+        return pendingCount.get();
+    }
+
+    // False if some turns were kept for a retry
+    private boolean write(List<Claim> claims) {
+        List<Turn> batch = claims.stream()
+                .flatMap(claim -> claim.turns().stream())
+                .toList();
+        Set<Turn> unwritten = unwritten(batch);
+        claims.forEach(claim -> claim.queue().complete(unwritten));
+        return unwritten.isEmpty();
+    }
+
+    // Turns that could not be written for reasons other than their own content
+    private Set<Turn> unwritten(List<Turn> batch) {
+        // By identity: two turns may well be equal
+        Set<Turn> unwritten = Collections.newSetFromMap(new IdentityHashMap<>());
+        try {
+            persist(batch);
+            return unwritten;
+        } catch (RuntimeException ex) {
+            if (!isRowProblem(ex)) {
+                log.warn("Could not write {} session turns, keeping them for a retry: {}", batch.size(), ex.getMessage());
+                unwritten.addAll(batch);
+                return unwritten;
+            }
+        }
+
+        // One bad row, e.g. a turn whose session was deleted, must not sink the rest
+        for (Turn turn : batch) {
+            try {
+                persist(List.of(turn));
+            } catch (RuntimeException ex) {
+                if (isRowProblem(ex)) {
+                    dropped.increment();
+                    log.warn("Dropped a turn for session {}: {}", turn.sessionId(), ex.getMessage());
+                } else {
+                    unwritten.add(turn);
+                }
+            }
+        }
+        return unwritten;
+    }
+
+    private void persist(List<Turn> batch) {
+        batchTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            for (Turn turn : batch) {
+                // A reference is enough for the foreign key; the session is not loaded
+                entityManager.persist(turn.toEntity(entityManager.getReference(InterviewSession.class, turn.sessionId())));
+            }
+            entityManager.flush();
+            entityManager.clear();
+        }));
+        written.increment(batch.size());
+    }
+
+    private static boolean isRowProblem(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataIntegrityViolationException
+                    || cause instanceof ConstraintViolationException
+                    || cause instanceof DataException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Claim(SessionQueue queue, List<Turn> turns) {
+    }
+
+    /**
+     * One session's queued turns, in append order. A flush claims turns from the head and
+     * removes them once committed; until then transcript reads and other flushes of the
+     * session wait, while appends carry on at the tail.
+     */
+    private final class SessionQueue {
+
+        private final Long sessionId;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition idle = lock.newCondition();
+        private final List<Turn> turns = new ArrayList<>();
+        // Head turns claimed by the flush in progress
+        private int writing;
+        private boolean retired;
+
+        SessionQueue(Long sessionId) {
+            this.sessionId = sessionId;
+        }
+
+        boolean add(Turn turn) {
+            lock.lock();
+            try {
+                if (retired) {
+                    return false;
+                }
+                turns.add(turn);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Null when empty or already being written
+        Claim tryClaim(int max) {
+            lock.lock();
+            try {
+                return writing > 0 ? null : claimHead(max);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Claim claim(int max) {
+            lock.lock();
+            try {
+                awaitIdle();
+                return claimHead(max);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void complete(Set<Turn> unwritten) {
+            lock.lock();
+            try {
+                List<Turn> claimed = turns.subList(0, writing);
+                int kept = (int) claimed.stream().filter(unwritten::contains).count();
+                pendingCount.addAndGet(kept - writing);
+                // Kept turns stay at the head, ahead of anything appended since
+                claimed.removeIf(turn -> !unwritten.contains(turn));
+                writing = 0;
+                if (turns.isEmpty()) {
+                    retired = true;
+                    pending.remove(sessionId, this);
+                }
+                idle.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Holds the lock across the query, so a flush cannot commit the session's turns in between
+        List<SessionTurn> read(Supplier<List<SessionTurn>> persisted) {
+            lock.lock();
+            try {
+                awaitIdle();
+                List<SessionTurn> transcript = new ArrayList<>(persisted.get());
+                turns.forEach(turn -> transcript.add(turn.toEntity(null)));
+                // Stable, so written turns keep their id order among equal answer times
+                transcript.sort(Comparator.comparing(SessionTurn::getAnsweredAt));
+                return transcript;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private Claim claimHead(int max) {
+            writing = Math.min(max, turns.size());
+            return writing == 0 ? null : new Claim(this, List.copyOf(turns.subList(0, writing)));
+        }
+
+        private void awaitIdle() {
+            while (writing > 0) {
+                idle.awaitUninterruptibly();
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+        if (pendingCount.get() > 0) {
+            log.error("{} session turns could not be written before shutdown", pendingCount.get());
+        }
+    }
+}
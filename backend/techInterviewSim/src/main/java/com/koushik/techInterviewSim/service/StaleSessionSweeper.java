@@ -0,0 +1,117 @@
+package com.koushik.techInterviewSim.service;
+
+import com.koushik.techInterviewSim.entity.InterviewSession.InterviewStatus;
+import com.koushik.techInterviewSim.repository.InterviewSessionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cancels sessions left IN_PROGRESS for longer than the timeout, which would otherwise
+ * keep their users from starting another. Works in chunks of ids, each a projected select
+ * and one bulk UPDATE in its own short transaction, and runs on one instance at a time.
+ * Turns still queued for a cancelled session are written after its chunk commits.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StaleSessionSweeper {
+
+    private static final String LOCK = "stale-session-sweeper";
+
+    private final InterviewSessionRepository sessionRepository;
+    private final ActiveSessionRegistry activeSessions;
+    private final SessionTurnLog turnLog;
+    private final SchedulerLocks schedulerLocks;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.session-sweeper.timeout:4h}")
+    private Duration timeout;
+
+    @Value("${app.session-sweeper.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.session-sweeper.lock-lease:5m}")
+    private Duration lockLease;
+
+    private TransactionTemplate transactionTemplate;
+    private Counter swept;
+    private Timer chunkTimer;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        swept = Counter.builder("sessions.swept").register(meterRegistry);
+        chunkTimer = Timer.builder("sessions.sweep.chunk").register(meterRegistry);
+    }
+
+    /**
+     * Returns the number of sessions cancelled, or 0 if another run holds the lock.
+     */
+    @Scheduled(initialDelayString = "${app.session-sweeper.interval:300000}",
+               fixedDelayString = "${app.session-sweeper.interval:300000}")
+    public int sweep() {
+        if (!schedulerLocks.tryLock(LOCK, lockLease)) {
+            log.debug("Session sweep skipped, another instance is running it");
+            return 0;
+        }
+        try {
+            return sweepUntil(System.nanoTime() + lockLease.toNanos() * 3 / 4);
+        } finally {
+            schedulerLocks.unlock(LOCK);
+        }
+    }
+
+    // Stops early, well inside the lease, so two instances never sweep at once; the next
+    // run continues where this one left off
+    private int sweepUntil(long deadline) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(timeout);
+        PageRequest limit = PageRequest.of(0, chunkSize);
+        int total = 0;
+        long afterId = 0;
+        while (System.nanoTime() < deadline) {
+            long started = System.nanoTime();
+            List<Object[]> rows = sessionRepository.findIdsStartedBefore(InterviewStatus.IN_PROGRESS, cutoff, afterId, limit);
+            if (rows.isEmpty()) {
+                break;
+            }
+            List<Long> ids = new ArrayList<>(rows.size());
+            rows.forEach(row -> ids.add((Long) row[0]));
+            afterId = ids.get(ids.size() - 1);
+
+            Integer updated = transactionTemplate.execute(status -> {
+                int transitioned = sessionRepository.transitionStartedBefore(
+                    ids, InterviewStatus.IN_PROGRESS, InterviewStatus.CANCELLED, cutoff, now);
+                // Writes their queued turns once the chunk commits, as finishing a session does
+                ids.forEach(turnLog::sessionEnded);
+                return transitioned;
+            });
+            chunkTimer.record(Duration.ofNanos(System.nanoTime() - started));
+            swept.increment(updated);
+            total += updated;
+
+            // Every selected session is over now, whether swept here or ended meanwhile
+            rows.forEach(row -> activeSessions.finished((Long) row[1], (Long) row[0]));
+        }
+        if (total > 0) {
+            log.info("Cancelled {} sessions left in progress for over {}", total, timeout);
+        }
+        return total;
+    }
+}
@@ -1,11 +1,14 @@
 package com.koushik.techInterviewSim.service;
 
+import com.koushik.techInterviewSim.dto.CursorPage;
 import com.koushik.techInterviewSim.dto.UserDTO;
 import com.koushik.techInterviewSim.entity.User;
 import com.koushik.techInterviewSim.exception.ApiException;
 import com.koushik.techInterviewSim.repository.UserRepository;
+import com.koushik.techInterviewSim.security.CustomUserDetailsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -18,6 +21,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CustomUserDetailsService userDetailsService;
 
     @Transactional(readOnly = true)
     public Page<UserDTO> getAllUsers(Pageable pageable) {
@@ -25,6 +29,22 @@ public class UserService {
                 .map(this::convertToDTO);
     }
 
+    // Keyset listing by id; no count query and no offset scan
+    @Transactional(readOnly = true)
+    public CursorPage<UserDTO> scrollUsers(String cursor, int size) {
+        int pageSize = KeysetCursor.pageSize(size, "/api/users/scroll");
+        long afterId = cursor == null
+            ? Long.MIN_VALUE
+            : KeysetCursor.decode(cursor, 1, "/api/users/scroll", keys -> Long.parseLong(keys[0]));
+
+        return CursorPage.of(
+            userRepository.findAfter(afterId, PageRequest.of(0, pageSize + 1)),
+            pageSize,
+            this::convertToDTO,
+            last -> KeysetCursor.encode(last.getId())
+        );
+    }
+
     @Transactional(readOnly = true)
     public UserDTO getUserById(Long id) {
         return userRepository.findById(id)
@@ -61,19 +81,21 @@ public class UserService {
             user.setEmail(userDTO.getEmail());
         }
 
+        userDetailsService.evict(user.getUsername());
         return convertToDTO(userRepository.save(user));
     }
 
     @Transactional
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new ApiException(
-                HttpStatus.NOT_FOUND,
-                "User not found with id: " + id,
-                "/api/users/" + id
-            );
-        }
-        userRepository.deleteById(id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ApiException(
+                    HttpStatus.NOT_FOUND,
+                    "User not found with id: " + id,
+                    "/api/users/" + id
+                ));
+
+        userDetailsService.evict(user.getUsername());
+        userRepository.delete(user);
     }
 
     private UserDTO convertToDTO(User user) {
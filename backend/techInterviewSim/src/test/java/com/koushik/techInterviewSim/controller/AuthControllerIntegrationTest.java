@@ -1,9 +1,12 @@
 package com.koushik.techInterviewSim.controller;
 
+import com.jayway.jsonpath.JsonPath;
 import com.koushik.techInterviewSim.dto.auth.LoginRequest;
+import com.koushik.techInterviewSim.dto.auth.RefreshRequest;
 import com.koushik.techInterviewSim.dto.auth.RegisterRequest;
 import com.koushik.techInterviewSim.entity.User;
 import com.koushik.techInterviewSim.repository.UserRepository;
+import com.koushik.techInterviewSim.security.CustomUserDetailsService;
 import com.koushik.techInterviewSim.util.TestUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,11 +14,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -33,9 +39,16 @@ class AuthControllerIntegrationTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @BeforeEach
     void setUp() {
         userRepository.deleteAll();
+        userDetailsService.evictAll();
     }
 
     @AfterEach
@@ -74,7 +87,51 @@ class AuthControllerIntegrationTest {
             post("/api/auth/register"), request));
 
         // Then
-        result.andExpect(status().isBadRequest());
+        result.andExpect(status().isBadRequest())
+              .andExpect(jsonPath("$.message").value("Username is already taken"));
+    }
+
+    @Test
+    void register_WithExistingEmail_ShouldReturnBadRequest() throws Exception {
+        // Given
+        User existingUser = TestUtils.createTestUser();
+        existingUser.setUsername("otheruser");
+        existingUser.setPassword(passwordEncoder.encode(existingUser.getPassword()));
+        userRepository.save(existingUser);
+
+        RegisterRequest request = TestUtils.createTestRegisterRequest();
+
+        // When
+        ResultActions result = mockMvc.perform(TestUtils.jsonRequest(
+            post("/api/auth/register"), request));
+
+        // Then
+        result.andExpect(status().isBadRequest())
+              .andExpect(jsonPath("$.message").value("Email is already registered"));
+    }
+
+    @Test
+    void register_WithExistingEmailUnderLegacyConstraintName_ShouldReturnBadRequest() throws Exception {
+        // Given: a schema whose constraint predates the named one
+        User existingUser = TestUtils.createTestUser();
+        existingUser.setUsername("otheruser");
+        existingUser.setPassword(passwordEncoder.encode(existingUser.getPassword()));
+        userRepository.save(existingUser);
+        jdbcTemplate.execute("ALTER TABLE users RENAME CONSTRAINT " + User.EMAIL_CONSTRAINT + " TO uk_legacy_email");
+
+        try {
+            RegisterRequest request = TestUtils.createTestRegisterRequest();
+
+            // When
+            ResultActions result = mockMvc.perform(TestUtils.jsonRequest(
+                post("/api/auth/register"), request));
+
+            // Then
+            result.andExpect(status().isBadRequest())
+                  .andExpect(jsonPath("$.message").value("Email is already registered"));
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE users RENAME CONSTRAINT uk_legacy_email TO " + User.EMAIL_CONSTRAINT);
+        }
     }
 
     @Test
@@ -110,4 +167,83 @@ class AuthControllerIntegrationTest {
         // Then
         result.andExpect(status().isUnauthorized());
     }
+
+    @Test
+    void refresh_WithValidRefreshToken_ShouldRotateTokens() throws Exception {
+        // Given
+        String refreshToken = registerAndGetRefreshToken();
+
+        // When
+        ResultActions result = mockMvc.perform(TestUtils.jsonRequest(
+            post("/api/auth/refresh"), new RefreshRequest(refreshToken)));
+
+        // Then
+        result.andExpect(status().isOk())
+              .andExpect(jsonPath("$.token").exists())
+              .andExpect(jsonPath("$.refreshToken").exists());
+        String rotated = JsonPath.read(result.andReturn().getResponse().getContentAsString(), "$.refreshToken");
+        assertNotEquals(refreshToken, rotated);
+    }
+
+    @Test
+    void refresh_WithReusedRefreshToken_ShouldReturnUnauthorized() throws Exception {
+        // Given
+        String refreshToken = registerAndGetRefreshToken();
+        mockMvc.perform(TestUtils.jsonRequest(post("/api/auth/refresh"), new RefreshRequest(refreshToken)))
+               .andExpect(status().isOk());
+
+        // When
+        ResultActions result = mockMvc.perform(TestUtils.jsonRequest(
+            post("/api/auth/refresh"), new RefreshRequest(refreshToken)));
+
+        // Then
+        result.andExpect(status().isUnauthorized())
+              .andExpect(jsonPath("$.message").value("Refresh token has been revoked"));
+    }
+
+    @Test
+    void refresh_WithAccessToken_ShouldReturnUnauthorized() throws Exception {
+        // Given
+        String response = mockMvc.perform(TestUtils.jsonRequest(
+                post("/api/auth/register"), TestUtils.createTestRegisterRequest()))
+            .andReturn().getResponse().getContentAsString();
+        String accessToken = JsonPath.read(response, "$.token");
+
+        // When
+        ResultActions result = mockMvc.perform(TestUtils.jsonRequest(
+            post("/api/auth/refresh"), new RefreshRequest(accessToken)));
+
+        // Then
+        result.andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void logout_ShouldRevokeAccessToken() throws Exception {
+        // Given
+        String response = mockMvc.perform(TestUtils.jsonRequest(
+                post("/api/auth/register"), TestUtils.createTestRegisterRequest()))
+            .andReturn().getResponse().getContentAsString();
+        String accessToken = JsonPath.read(response, "$.token");
+        String refreshToken = JsonPath.read(response, "$.refreshToken");
+        Integer id = JsonPath.read(response, "$.id");
+        mockMvc.perform(get("/api/users/" + id).header("Authorization", "Bearer " + accessToken))
+               .andExpect(status().isOk());
+
+        // When
+        mockMvc.perform(TestUtils.jsonRequest(post("/api/auth/logout"), new RefreshRequest(refreshToken))
+                .header("Authorization", "Bearer " + accessToken))
+               .andExpect(status().isNoContent());
+
+        // Then the token no longer authenticates the request
+        mockMvc.perform(get("/api/users/" + id).header("Authorization", "Bearer " + accessToken))
+               .andExpect(status().isForbidden());
+    }
+
+    private String registerAndGetRefreshToken() throws Exception {
+        String response = mockMvc.perform(TestUtils.jsonRequest(
+                post("/api/auth/register"), TestUtils.createTestRegisterRequest()))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(response, "$.refreshToken");
+    }
 }
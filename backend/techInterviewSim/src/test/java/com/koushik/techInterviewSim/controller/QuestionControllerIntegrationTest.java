@@ -0,0 +1,607 @@
+package com.koushik.techInterviewSim.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import com.koushik.techInterviewSim.dto.QuestionDTO;
+import com.koushik.techInterviewSim.entity.Question;
+import com.koushik.techInterviewSim.entity.User;
+import com.koushik.techInterviewSim.repository.InterviewSessionRepository;
+import com.koushik.techInterviewSim.repository.QuestionRepository;
+import com.koushik.techInterviewSim.repository.UserRepository;
+import com.koushik.techInterviewSim.security.CustomUserDetailsService;
+import com.koushik.techInterviewSim.security.JwtTokenProvider;
+import com.koushik.techInterviewSim.security.UserPrincipal;
+import com.koushik.techInterviewSim.service.QuestionCatalog;
+import com.koushik.techInterviewSim.service.SeenQuestionTracker;
+import com.koushik.techInterviewSim.util.TestUtils;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QuestionControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private QuestionCatalog questionCatalog;
+
+    @Autowired
+    private InterviewSessionRepository sessionRepository;
+
+    @Autowired
+    private SeenQuestionTracker seenQuestionTracker;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+    private Long adminId;
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        sessionRepository.deleteAll();
+        questionRepository.deleteAll();
+        userRepository.deleteAll();
+        userDetailsService.evictAll();
+        seenQuestionTracker.evictAll();
+        questionCatalog.reload();
+
+        User admin = userRepository.save(User.builder()
+                .username("admin")
+                .email("admin@example.com")
+                .password("hash")
+                .roles(Set.of("ROLE_USER", "ROLE_ADMIN"))
+                .build());
+        adminId = admin.getId();
+        adminToken = "Bearer " + tokenProvider.generateToken(UserPrincipal.from(admin));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionRepository.deleteAll();
+        questionRepository.deleteAll();
+        userRepository.deleteAll();
+        questionCatalog.reload();
+    }
+
+    @Test
+    void createQuestion_ShouldBeReadableFromCatalogWithoutQueries() throws Exception {
+        // Given
+        long versionBefore = questionCatalog.version();
+        Long id = createQuestion("Explain a B-tree", Question.QuestionCategory.DATABASE,
+            Question.QuestionDifficulty.MEDIUM);
+        assertTrue(questionCatalog.version() > versionBefore);
+
+        // Warm the principal cache so only the handler's own queries are counted
+        mockMvc.perform(get("/api/questions/" + id).header("Authorization", adminToken))
+            .andExpect(status().isOk());
+        statistics.clear();
+
+        // When / Then
+        mockMvc.perform(get("/api/questions/" + id).header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.text").value("Explain a B-tree"));
+        mockMvc.perform(get("/api/questions/category/DATABASE").header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(1));
+        mockMvc.perform(get("/api/questions/difficulty/HARD").header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(0));
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void updateQuestion_ShouldMoveQuestionBetweenBuckets() throws Exception {
+        // Given
+        Long id = createQuestion("Design a URL shortener", Question.QuestionCategory.SYSTEM_DESIGN,
+            Question.QuestionDifficulty.EASY);
+
+        // When
+        mockMvc.perform(TestUtils.jsonRequest(put("/api/questions/" + id), QuestionDTO.builder()
+                    .text("Design a URL shortener")
+                    .difficulty(Question.QuestionDifficulty.HARD)
+                    .build())
+                .header("Authorization", adminToken))
+            .andExpect(status().isOk());
+
+        // Then
+        assertTrue(questionCatalog.byCategoryAndDifficulty(
+            Question.QuestionCategory.SYSTEM_DESIGN, Question.QuestionDifficulty.EASY).isEmpty());
+        assertEquals(id, questionCatalog.byCategoryAndDifficulty(
+            Question.QuestionCategory.SYSTEM_DESIGN, Question.QuestionDifficulty.HARD).get(0).id());
+    }
+
+    @Test
+    void deleteQuestion_ShouldRemoveItFromCatalog() throws Exception {
+        // Given
+        Long id = createQuestion("What is a deadlock?", Question.QuestionCategory.OPERATING_SYSTEM,
+            Question.QuestionDifficulty.EASY);
+
+        // When
+        mockMvc.perform(delete("/api/questions/" + id).header("Authorization", adminToken))
+            .andExpect(status().isNoContent());
+
+        // Then
+        mockMvc.perform(get("/api/questions/" + id).header("Authorization", adminToken))
+            .andExpect(status().isNotFound());
+        assertEquals(0, questionCatalog.size());
+    }
+
+    @Test
+    void getRandomQuestions_WithSeed_ShouldBeReproducible() throws Exception {
+        // Given
+        for (int i = 0; i < 10; i++) {
+            createQuestion("Sorting question " + i, Question.QuestionCategory.ALGORITHM,
+                Question.QuestionDifficulty.EASY);
+        }
+
+        // When
+        String first = mockMvc.perform(get("/api/questions/random?category=ALGORITHM&difficulty=EASY&limit=4&seed=42")
+                .header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(4))
+            .andReturn().getResponse().getContentAsString();
+        String second = mockMvc.perform(get("/api/questions/random?category=ALGORITHM&difficulty=EASY&limit=4&seed=42")
+                .header("Authorization", adminToken))
+            .andReturn().getResponse().getContentAsString();
+
+        // Then
+        assertEquals(first, second);
+    }
+
+    @Test
+    void getRandomQuestions_WithNonPositiveLimit_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/questions/random?category=ALGORITHM&difficulty=EASY&limit=0")
+                .header("Authorization", adminToken))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void drawQuestions_AcrossSessions_ShouldNotRepeatUntilPoolIsExhausted() throws Exception {
+        // Given
+        for (int i = 0; i < 6; i++) {
+            createQuestion("Tree question " + i, Question.QuestionCategory.DATA_STRUCTURE,
+                Question.QuestionDifficulty.MEDIUM);
+        }
+        Long firstSession = startSession();
+
+        // When
+        List<Integer> first = drawQuestions(firstSession, 3);
+        endSession(firstSession);
+        // A fresh instance (or an evicted entry) rebuilds history from the stored session bitmaps
+        seenQuestionTracker.evictAll();
+        Long secondSession = startSession();
+        List<Integer> second = drawQuestions(secondSession, 3);
+        List<Integer> third = drawQuestions(secondSession, 2);
+
+        // Then
+        Set<Integer> firstSix = new HashSet<>(first);
+        firstSix.addAll(second);
+        assertEquals(6, firstSix.size());
+        assertEquals(2, new HashSet<>(third).size());
+        assertNotNull(sessionRepository.findById(secondSession).orElseThrow().getAskedQuestions());
+    }
+
+    @Test
+    void searchQuestions_ShouldReturnRankedPage() throws Exception {
+        // Given
+        Long best = createQuestion("Compare hash joins and merge joins", Question.QuestionCategory.DATABASE,
+            Question.QuestionDifficulty.HARD);
+        createQuestion("When would you use a hash index?", Question.QuestionCategory.DATABASE,
+            Question.QuestionDifficulty.MEDIUM);
+        createQuestion("Reverse a linked list", Question.QuestionCategory.ALGORITHM,
+            Question.QuestionDifficulty.EASY);
+
+        // When / Then
+        mockMvc.perform(get("/api/questions/search?q=hash joins&category=DATABASE&size=1")
+                .header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements").value(2))
+            .andExpect(jsonPath("$.content[0].id").value(best));
+    }
+
+    @Test
+    void getRelatedQuestions_ShouldRankSimilarQuestionsFirst() throws Exception {
+        // Given
+        Long source = createQuestion("Explain how a hash table handles collisions",
+            Question.QuestionCategory.DATA_STRUCTURE, Question.QuestionDifficulty.EASY);
+        createQuestion("Design a rate limiter for a public REST API", Question.QuestionCategory.SYSTEM_DESIGN,
+            Question.QuestionDifficulty.HARD);
+        Long similar = createQuestion("How does a hash map resolve hash collisions?",
+            Question.QuestionCategory.DATA_STRUCTURE, Question.QuestionDifficulty.MEDIUM);
+
+        // When / Then
+        mockMvc.perform(get("/api/questions/" + source + "/related?k=2").header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].id").value(similar));
+        mockMvc.perform(get("/api/questions/" + source + "/related?k=0").header("Authorization", adminToken))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/questions/999999/related").header("Authorization", adminToken))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void hotReads_ShouldServePreEncodedJsonIdenticalToDtoSerialization() throws Exception {
+        // Given
+        String text = "Compare \"optimistic\" and pessimistic locking \u2014 when does each win?";
+        Long id = createQuestion(text, Question.QuestionCategory.DATABASE, Question.QuestionDifficulty.HARD);
+        String expected = objectMapper.writeValueAsString(QuestionDTO.builder()
+            .id(id)
+            .text(text)
+            .category(Question.QuestionCategory.DATABASE)
+            .difficulty(Question.QuestionDifficulty.HARD)
+            .build());
+
+        // When / Then
+        mockMvc.perform(get("/api/questions/" + id).header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/json"))
+            .andExpect(content().bytes(expected.getBytes(StandardCharsets.UTF_8)));
+        mockMvc.perform(get("/api/questions/random?category=DATABASE&difficulty=HARD&limit=3")
+                .header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(("[" + expected + "]").getBytes(StandardCharsets.UTF_8)));
+        mockMvc.perform(get("/api/questions/category/DATABASE").header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].text").value(text))
+            .andExpect(jsonPath("$.totalElements").value(1));
+
+        // An edit re-encodes the question
+        mockMvc.perform(TestUtils.jsonRequest(put("/api/questions/" + id), QuestionDTO.builder()
+                    .text("Compare optimistic and pessimistic locking")
+                    .build())
+                .header("Authorization", adminToken))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/questions/" + id).header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.text").value("Compare optimistic and pessimistic locking"));
+    }
+
+    @Test
+    void getQuestionById_WithMatchingETag_ShouldReturnNotModifiedWithoutQueries() throws Exception {
+        // Given
+        Long id = createQuestion("Explain ETags", Question.QuestionCategory.NETWORKING,
+            Question.QuestionDifficulty.EASY);
+        String etag = mockMvc.perform(get("/api/questions/" + id).header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Cache-Control", containsString("no-cache")))
+            .andExpect(header().exists("Last-Modified"))
+            .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+        statistics.clear();
+
+        // When / Then
+        mockMvc.perform(get("/api/questions/" + id)
+                .header("Authorization", adminToken)
+                .header("If-None-Match", etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string("ETag", etag))
+            .andExpect(content().string(""));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getQuestionById_WithOnlyIfModifiedSince_ShouldValidateByDate() throws Exception {
+        // Given
+        Long id = createQuestion("Explain conditional requests", Question.QuestionCategory.NETWORKING,
+            Question.QuestionDifficulty.EASY);
+        MockHttpServletResponse first = mockMvc.perform(get("/api/questions/" + id)
+                .header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andReturn().getResponse();
+        String lastModified = first.getHeader("Last-Modified");
+        assertNotNull(lastModified);
+
+        // When / Then
+        mockMvc.perform(get("/api/questions/" + id)
+                .header("Authorization", adminToken)
+                .header("If-Modified-Since", lastModified))
+            .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/questions/" + id)
+                .header("Authorization", adminToken)
+                .header("If-Modified-Since", "Sat, 01 Jan 2000 00:00:00 GMT"))
+            .andExpect(status().isOk());
+        // If-None-Match takes precedence: a stale ETag is a miss whatever the date says
+        mockMvc.perform(get("/api/questions/" + id)
+                .header("Authorization", adminToken)
+                .header("If-None-Match", "\"v0-0\"")
+                .header("If-Modified-Since", lastModified))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", first.getHeader("ETag")));
+    }
+
+    @Test
+    void getQuestionsByCategory_AfterMutation_ShouldMissAndReturnNewETag() throws Exception {
+        // Given
+        Long id = createQuestion("Explain TCP slow start", Question.QuestionCategory.NETWORKING,
+            Question.QuestionDifficulty.MEDIUM);
+        MockHttpServletResponse first = mockMvc.perform(get("/api/questions/category/NETWORKING")
+                .header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andReturn().getResponse();
+        String etag = first.getHeader("ETag");
+        mockMvc.perform(get("/api/questions/category/NETWORKING")
+                .header("Authorization", adminToken)
+                .header("If-None-Match", etag))
+            .andExpect(status().isNotModified());
+
+        // When
+        mockMvc.perform(TestUtils.jsonRequest(put("/api/questions/" + id), QuestionDTO.builder()
+                    .text("Explain TCP congestion control")
+                    .build())
+                .header("Authorization", adminToken))
+            .andExpect(status().isOk());
+
+        // Then
+        String newEtag = mockMvc.perform(get("/api/questions/category/NETWORKING")
+                .header("Authorization", adminToken)
+                .header("If-None-Match", etag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].text").value("Explain TCP congestion control"))
+            .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, newEtag);
+    }
+
+    @Test
+    void getQuestionsByCategory_ShouldPageAndOfferSummaries() throws Exception {
+        // Given
+        Long first = createQuestion("Paged question 1", Question.QuestionCategory.NETWORKING,
+            Question.QuestionDifficulty.EASY);
+        createQuestion("Paged question 2", Question.QuestionCategory.NETWORKING, Question.QuestionDifficulty.HARD);
+        Long third = createQuestion("Paged question 3", Question.QuestionCategory.NETWORKING,
+            Question.QuestionDifficulty.EASY);
+
+        // When / Then
+        mockMvc.perform(get("/api/questions/category/NETWORKING?page=1&size=2").header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements").value(3))
+            .andExpect(jsonPath("$.content.length()").value(1))
+            .andExpect(jsonPath("$.content[0].id").value(third));
+        mockMvc.perform(get("/api/questions/difficulty/EASY/summary?size=1").header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements").value(2))
+            .andExpect(jsonPath("$.content[0].id").value(first))
+            .andExpect(jsonPath("$.content[0].category").value("NETWORKING"))
+            .andExpect(jsonPath("$.content[0].text").doesNotExist());
+        mockMvc.perform(get("/api/questions/category/NETWORKING?size=1000").header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.size").value(100));
+    }
+
+    @Test
+    void scrollQuestions_ShouldWalkCatalogInIdOrder() throws Exception {
+        // Given
+        Long first = createQuestion("Scroll question 1", Question.QuestionCategory.ALGORITHM,
+            Question.QuestionDifficulty.EASY);
+        Long second = createQuestion("Scroll question 2", Question.QuestionCategory.ALGORITHM,
+            Question.QuestionDifficulty.EASY);
+        Long third = createQuestion("Scroll question 3", Question.QuestionCategory.ALGORITHM,
+            Question.QuestionDifficulty.EASY);
+
+        // When
+        String page = mockMvc.perform(get("/api/questions/scroll?size=2").header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].id").value(first))
+            .andExpect(jsonPath("$.content[1].id").value(second))
+            .andReturn().getResponse().getContentAsString();
+        String cursor = JsonPath.read(page, "$.nextCursor");
+
+        // Then
+        mockMvc.perform(get("/api/questions/scroll?size=2&cursor=" + cursor).header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(1))
+            .andExpect(jsonPath("$.content[0].id").value(third))
+            .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        mockMvc.perform(get("/api/questions/scroll?cursor=not-a-cursor").header("Authorization", adminToken))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void importQuestions_WithNdjson_ShouldBatchInsertsAndReportBadRows() throws Exception {
+        // Given
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 120; i++) {
+            body.append("{\"text\":\"Imported question ").append(i)
+                .append("\",\"category\":\"algorithm\",\"difficulty\":\"EASY\"}\n");
+        }
+        body.append("{\"text\":\"Bad category\",\"category\":\"COOKING\",\"difficulty\":\"EASY\"}\n");
+        body.append("not json\n");
+        statistics.clear();
+
+        // When
+        mockMvc.perform(post("/api/questions/import")
+                .contentType("application/x-ndjson")
+                .content(body.toString())
+                .header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rows").value(122))
+            .andExpect(jsonPath("$.imported").value(120))
+            .andExpect(jsonPath("$.failed").value(2))
+            .andExpect(jsonPath("$.errors[0].line").value(121))
+            .andExpect(jsonPath("$.errors[0].message").value("Unknown category: COOKING"))
+            .andExpect(jsonPath("$.errors[1].line").value(122));
+
+        // Then one batched insert and a few sequence calls, not one statement per row
+        assertTrue(statistics.getPrepareStatementCount() < 10,
+            "statements: " + statistics.getPrepareStatementCount());
+        assertEquals(120, questionCatalog.byCategoryAndDifficulty(
+            Question.QuestionCategory.ALGORITHM, Question.QuestionDifficulty.EASY).size());
+    }
+
+    @Test
+    void importQuestions_WithCsv_ShouldHandleQuotedFields() throws Exception {
+        // Given
+        String body = "difficulty,category,text\n"
+            + "HARD,SYSTEM_DESIGN,\"Design a cache, then explain \"\"eviction\"\"\"\n"
+            + "MEDIUM,DATABASE,\"Explain MVCC\nacross two lines\"\n"
+            + "EASY,DATABASE\n";
+
+        // When
+        mockMvc.perform(post("/api/questions/import")
+                .contentType("text/csv")
+                .content(body)
+                .header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.errors[0].line").value(5));
+
+        // Then
+        assertEquals("Design a cache, then explain \"eviction\"", questionCatalog.byCategory(
+            Question.QuestionCategory.SYSTEM_DESIGN).get(0).text());
+        assertEquals("Explain MVCC\nacross two lines", questionCatalog.byCategory(
+            Question.QuestionCategory.DATABASE).get(0).text());
+    }
+
+    @Test
+    void exportQuestions_ShouldStreamNdjsonAndGzip() throws Exception {
+        // Given
+        Long first = createQuestion("Export question 1", Question.QuestionCategory.DATABASE,
+            Question.QuestionDifficulty.EASY);
+        createQuestion("Export \"question\" 2", Question.QuestionCategory.BEHAVIORAL,
+            Question.QuestionDifficulty.HARD);
+
+        // When
+        MockHttpServletResponse plain = mockMvc.perform(get("/api/questions/export")
+                .header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson"))
+            .andExpect(header().string("Content-Disposition", containsString(".ndjson\"")))
+            .andReturn().getResponse();
+        byte[] gzipped = mockMvc.perform(get("/api/questions/export?gzip=true")
+                .header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/gzip"))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        String ndjson = plain.getContentAsString();
+        String[] lines = ndjson.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(first.intValue(), (Integer) JsonPath.read(lines[0], "$.id"));
+        assertEquals("Export \"question\" 2", JsonPath.read(lines[1], "$.text"));
+        assertEquals("HARD", JsonPath.read(lines[1], "$.difficulty"));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            assertEquals(ndjson, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void createAndImport_ShouldFlagNearDuplicatesAndReportClusters() throws Exception {
+        // Given
+        Long original = createQuestion("Design a rate limiter for a public REST API",
+            Question.QuestionCategory.SYSTEM_DESIGN, Question.QuestionDifficulty.MEDIUM);
+
+        // When / Then: a rephrasing is saved but flagged
+        mockMvc.perform(TestUtils.jsonRequest(post("/api/questions"), QuestionDTO.builder()
+                    .text("How would you design a rate limiter for a public REST API?")
+                    .category(Question.QuestionCategory.SYSTEM_DESIGN)
+                    .difficulty(Question.QuestionDifficulty.HARD)
+                    .build())
+                .header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.possibleDuplicates.length()").value(1))
+            .andExpect(jsonPath("$.possibleDuplicates[0].id").value(original));
+
+        String body = "{\"text\":\"Explain how a B-tree index speeds up range queries\","
+            + "\"category\":\"DATABASE\",\"difficulty\":\"EASY\"}\n"
+            + "{\"text\":\"Design a rate limiter for a public REST API.\","
+            + "\"category\":\"SYSTEM_DESIGN\",\"difficulty\":\"EASY\"}\n";
+        mockMvc.perform(post("/api/questions/import")
+                .contentType("application/x-ndjson")
+                .content(body)
+                .header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.flagged").value(1))
+            .andExpect(jsonPath("$.duplicates[0].line").value(2))
+            .andExpect(jsonPath("$.duplicates[0].questionId").value(original));
+
+        mockMvc.perform(get("/api/questions/duplicates").header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.questions").value(4))
+            .andExpect(jsonPath("$.totalClusters").value(1))
+            .andExpect(jsonPath("$.clusters[0].length()").value(3))
+            .andExpect(jsonPath("$.clusters[0][0].id").value(original));
+    }
+
+    private Long startSession() throws Exception {
+        String response = mockMvc.perform(post("/api/sessions/start?userId=" + adminId)
+                .header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(response, "$.id")).longValue();
+    }
+
+    private void endSession(Long sessionId) throws Exception {
+        mockMvc.perform(post("/api/sessions/" + sessionId + "/end").header("Authorization", adminToken))
+            .andExpect(status().isOk());
+    }
+
+    private List<Integer> drawQuestions(Long sessionId, int limit) throws Exception {
+        String response = mockMvc.perform(post("/api/sessions/" + sessionId
+                    + "/questions?category=DATA_STRUCTURE&difficulty=MEDIUM&limit=" + limit)
+                .header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(limit))
+            .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(response, "$[*].id");
+    }
+
+    private Long createQuestion(String text, Question.QuestionCategory category,
+                                Question.QuestionDifficulty difficulty) throws Exception {
+        String response = mockMvc.perform(TestUtils.jsonRequest(post("/api/questions"), QuestionDTO.builder()
+                    .text(text)
+                    .category(category)
+                    .difficulty(difficulty)
+                    .build())
+                .header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(response, "$.id")).longValue();
+    }
+}
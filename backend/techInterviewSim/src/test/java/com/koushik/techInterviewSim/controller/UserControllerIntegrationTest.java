@@ -0,0 +1,242 @@
+package com.koushik.techInterviewSim.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.koushik.techInterviewSim.entity.InterviewSession;
+import com.koushik.techInterviewSim.entity.User;
+import com.koushik.techInterviewSim.repository.InterviewSessionRepository;
+import com.koushik.techInterviewSim.repository.UserRepository;
+import com.koushik.techInterviewSim.security.CustomUserDetailsService;
+import com.koushik.techInterviewSim.security.JwtTokenProvider;
+import com.koushik.techInterviewSim.security.UserPrincipal;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InterviewSessionRepository sessionRepository;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+        userDetailsService.evictAll();
+
+        user = userRepository.save(User.builder()
+                .username("testuser")
+                .email("test@example.com")
+                .password("hash")
+                .roles(Set.of("ROLE_USER"))
+                .build());
+        UserPrincipal principal = UserPrincipal.from(user);
+        token = "Bearer " + tokenProvider.generateToken(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        // Warm the principal cache so only the handler's own queries are counted
+        mockMvc.perform(get("/api/users/" + user.getId()).header("Authorization", token))
+            .andExpect(status().isOk());
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getUserById_AsOwner_ShouldFetchUserOnce() throws Exception {
+        mockMvc.perform(get("/api/users/" + user.getId()).header("Authorization", token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.username").value("testuser"));
+
+        assertEquals(1, statistics.getEntityStatistics(User.class.getName()).getLoadCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getUserById_ForAnotherUser_ShouldBeForbiddenWithoutQuery() throws Exception {
+        mockMvc.perform(get("/api/users/" + (user.getId() + 1)).header("Authorization", token))
+            .andExpect(status().isForbidden());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void endSession_AsOwner_ShouldLoadSessionOnce() throws Exception {
+        InterviewSession session = sessionRepository.save(InterviewSession.builder()
+                .user(user)
+                .startTime(LocalDateTime.now())
+                .status(InterviewSession.InterviewStatus.IN_PROGRESS)
+                .build());
+        statistics.clear();
+
+        mockMvc.perform(post("/api/sessions/" + session.getId() + "/end").header("Authorization", token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("COMPLETED"));
+
+        assertEquals(1, statistics.getEntityStatistics(InterviewSession.class.getName()).getLoadCount());
+    }
+
+    @Test
+    void recordTurn_AsOwner_ShouldBeInTranscriptOnceSessionEnds() throws Exception {
+        InterviewSession session = sessionRepository.save(InterviewSession.builder()
+                .user(user)
+                .startTime(LocalDateTime.now())
+                .status(InterviewSession.InterviewStatus.IN_PROGRESS)
+                .build());
+        String turns = "/api/sessions/" + session.getId() + "/turns";
+        statistics.clear();
+
+        mockMvc.perform(post(turns).header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"questionId\": 7, \"answer\": \"Use a hash map\", \"askedAt\": \""
+                    + LocalDateTime.now().minusMinutes(1) + "\"}"))
+            .andExpect(status().isAccepted());
+        // Only the ownership check's load; the turn itself is not written yet
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        mockMvc.perform(post(turns).header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"answer\": \" \"}"))
+            .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/sessions/" + session.getId() + "/end").header("Authorization", token))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get(turns).header("Authorization", token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].questionId").value(7))
+            .andExpect(jsonPath("$[0].answer").value("Use a hash map"))
+            .andExpect(jsonPath("$[0].latencyMs").isNumber());
+
+        mockMvc.perform(post(turns).header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"answer\": \"Too late\"}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Session is not in progress"));
+    }
+
+    @Test
+    void scrollSessions_AsAdmin_ShouldPageNewestFirstWithStableTies() throws Exception {
+        // Given two sessions sharing a start time, so the id breaks the tie
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Long oldest = saveSession(now.minusHours(2)).getId();
+        Long tiedLow = saveSession(now.minusHours(1)).getId();
+        Long tiedHigh = saveSession(now.minusHours(1)).getId();
+        Long newest = saveSession(now).getId();
+        String adminToken = adminToken();
+
+        // When
+        String page = mockMvc.perform(get("/api/sessions/scroll?size=2").header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].id").value(newest))
+            .andExpect(jsonPath("$.content[1].id").value(tiedHigh))
+            .andReturn().getResponse().getContentAsString();
+        String cursor = JsonPath.read(page, "$.nextCursor");
+        statistics.clear();
+
+        // Then
+        mockMvc.perform(get("/api/sessions/scroll?size=2&cursor=" + cursor).header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].id").value(tiedLow))
+            .andExpect(jsonPath("$.content[1].id").value(oldest))
+            .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        // The page query, then one batched load of the owners' eager roles
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void scrollSessions_WithTamperedCursor_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/sessions/scroll?cursor=azF8bm90LWEtZGF0ZXwx").header("Authorization", adminToken()))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Invalid cursor"));
+    }
+
+    @Test
+    void scrollSessions_AsUser_ShouldBeForbidden() throws Exception {
+        mockMvc.perform(get("/api/sessions/scroll").header("Authorization", token))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void scrollUsers_AsAdmin_ShouldPageById() throws Exception {
+        // Given
+        String adminToken = adminToken();
+
+        // When / Then
+        String page = mockMvc.perform(get("/api/users/scroll?size=1").header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].id").value(user.getId()))
+            .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(get("/api/users/scroll?size=1&cursor=" + JsonPath.read(page, "$.nextCursor"))
+                .header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].username").value("admin"))
+            .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    // Finished, since a user may hold only one in-progress session
+    private InterviewSession saveSession(LocalDateTime startTime) {
+        return sessionRepository.save(InterviewSession.builder()
+                .user(user)
+                .startTime(startTime)
+                .endTime(startTime.plusMinutes(30))
+                .status(InterviewSession.InterviewStatus.COMPLETED)
+                .build());
+    }
+
+    private String adminToken() {
+        User admin = userRepository.save(User.builder()
+                .username("admin")
+                .email("admin@example.com")
+                .password("hash")
+                .roles(Set.of("ROLE_USER", "ROLE_ADMIN"))
+                .build());
+        return "Bearer " + tokenProvider.generateToken(UserPrincipal.from(admin));
+    }
+}
@@ -0,0 +1,73 @@
+package com.koushik.techInterviewSim.security;
+
+import com.koushik.techInterviewSim.entity.User;
+import com.koushik.techInterviewSim.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CustomUserDetailsServiceTest {
+
+    private UserRepository userRepository;
+    private CustomUserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        userDetailsService = new CustomUserDetailsService(userRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(userDetailsService, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(userDetailsService, "cacheTtl", Duration.ofMinutes(5));
+        userDetailsService.init();
+    }
+
+    @Test
+    void loadUserByUsername_RepeatedCalls_ShouldQueryOnce() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user()));
+
+        UserPrincipal first = userDetailsService.loadUserByUsername("testuser");
+        UserPrincipal second = userDetailsService.loadUserByUsername("testuser");
+
+        assertSame(first, second);
+        assertEquals(1L, first.getId());
+        assertEquals("ROLE_USER", first.getAuthorities().iterator().next().getAuthority());
+        verify(userRepository, times(1)).findByUsername("testuser");
+    }
+
+    @Test
+    void evict_ShouldForceReload() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user()));
+
+        userDetailsService.loadUserByUsername("testuser");
+        userDetailsService.evict("testuser");
+        userDetailsService.loadUserByUsername("testuser");
+
+        verify(userRepository, times(2)).findByUsername("testuser");
+    }
+
+    @Test
+    void loadUserByUsername_UnknownUser_ShouldThrowUsernameNotFound() {
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class,
+            () -> userDetailsService.loadUserByUsername("ghost"));
+    }
+
+    private static User user() {
+        return User.builder()
+                .id(1L)
+                .username("testuser")
+                .email("test@example.com")
+                .password("hash")
+                .roles(Set.of("ROLE_USER"))
+                .build();
+    }
+}
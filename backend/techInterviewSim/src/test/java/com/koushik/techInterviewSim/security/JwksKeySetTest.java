@@ -0,0 +1,173 @@
+package com.koushik.techInterviewSim.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwksKeySetTest {
+
+    private static final String PROJECT_URL = "https://test-project.supabase.co";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicReference<String> jwksBody = new AtomicReference<>("{\"keys\":[]}");
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    private HttpServer server;
+    private JwksKeySet keySet;
+    private KeyPair rsaKeys;
+    private KeyPair ecKeys;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/auth/v1/.well-known/jwks.json", exchange -> {
+            fetches.incrementAndGet();
+            byte[] body = jwksBody.get().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        rsaKeys = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+        KeyPairGenerator ec = KeyPairGenerator.getInstance("EC");
+        ec.initialize(new ECGenParameterSpec("secp256r1"));
+        ecKeys = ec.generateKeyPair();
+
+        keySet = new JwksKeySet(objectMapper);
+        ReflectionTestUtils.setField(keySet, "jwksUri",
+            "http://127.0.0.1:" + server.getAddress().getPort() + "/auth/v1/.well-known/jwks.json");
+        ReflectionTestUtils.setField(keySet, "ttl", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(keySet, "minRefetchInterval", Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        keySet.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void verifier_ShouldAcceptRs256AndEs256TokensSignedByPublishedKeys() throws Exception {
+        publish(Map.of("rsa-1", rsaKeys, "ec-1", ecKeys));
+        keySet.init();
+        await(() -> keySet.getKey("rsa-1") != null);
+
+        SupabaseTokenVerifier verifier = new SupabaseTokenVerifier(new SimpleMeterRegistry(), keySet);
+        ReflectionTestUtils.setField(verifier, "jwtSecret", "unused-hmac-secret");
+        ReflectionTestUtils.setField(verifier, "supabaseProjectUrl", PROJECT_URL);
+        ReflectionTestUtils.setField(verifier, "cacheMaxSize", 100L);
+        verifier.init();
+
+        String rsaToken = token("rsa-1", Algorithm.RSA256(
+            (RSAPublicKey) rsaKeys.getPublic(), (RSAPrivateKey) rsaKeys.getPrivate()));
+        String ecToken = token("ec-1", Algorithm.ECDSA256(
+            (ECPublicKey) ecKeys.getPublic(), (ECPrivateKey) ecKeys.getPrivate()));
+        String wrongKid = token("ec-1", Algorithm.RSA256(
+            (RSAPublicKey) rsaKeys.getPublic(), (RSAPrivateKey) rsaKeys.getPrivate()));
+
+        assertEquals("user-123", verifier.getUserIdFromToken(rsaToken));
+        assertEquals("user-123", verifier.getUserIdFromToken(ecToken));
+        assertNull(verifier.verifyToken(wrongKid));
+    }
+
+    @Test
+    void getKey_WithUnknownKid_ShouldNotBlockAndRefetchOnlyOnce() throws Exception {
+        publish(Map.of("rsa-1", rsaKeys));
+        keySet.init();
+        await(() -> keySet.getKey("rsa-1") != null);
+        assertEquals(1, fetches.get());
+
+        // Key rotated upstream; many concurrent requests see the new kid at once
+        publish(Map.of("rsa-1", rsaKeys, "rsa-2", rsaKeys));
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                keySet.getKey("rsa-2");
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        await(() -> keySet.getKey("rsa-2") != null);
+        assertEquals(2, fetches.get());
+    }
+
+    private void publish(Map<String, KeyPair> keys) throws Exception {
+        List<Map<String, String>> jwks = new ArrayList<>();
+        keys.forEach((kid, pair) -> {
+            if (pair.getPublic() instanceof RSAPublicKey rsa) {
+                jwks.add(Map.of("kid", kid, "kty", "RSA", "alg", "RS256", "use", "sig",
+                    "n", b64(rsa.getModulus()), "e", b64(rsa.getPublicExponent())));
+            } else if (pair.getPublic() instanceof ECPublicKey ec) {
+                jwks.add(Map.of("kid", kid, "kty", "EC", "alg", "ES256", "use", "sig", "crv", "P-256",
+                    "x", b64(ec.getW().getAffineX()), "y", b64(ec.getW().getAffineY())));
+            }
+        });
+        jwksBody.set(objectMapper.writeValueAsString(Map.of("keys", jwks)));
+    }
+
+    private static String token(String kid, Algorithm algorithm) {
+        return JWT.create()
+                .withKeyId(kid)
+                .withIssuer(PROJECT_URL + "/auth/v1")
+                .withSubject("user-123")
+                .withExpiresAt(Date.from(Instant.now().plusSeconds(3600)))
+                .sign(algorithm);
+    }
+
+    private static String b64(BigInteger value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.toByteArray());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition not met within 5s");
+            }
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.koushik.techInterviewSim.security;
+
+import com.koushik.techInterviewSim.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private JwtTokenProvider tokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret",
+            "testSecretKeyThatIsAtLeast512BitsLongForTestingPurposesOnlyWithHS512Signing");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", 60000);
+        tokenProvider.init();
+    }
+
+    @Test
+    void parseToken_WithValidToken_ShouldReturnClaims() {
+        String token = tokenProvider.generateToken(authentication());
+
+        Optional<JwtPrincipal> principal = tokenProvider.parseToken(token);
+
+        assertTrue(principal.isPresent());
+        assertEquals("testuser", principal.get().subject());
+        assertEquals(Set.of("ROLE_USER"), principal.get().roles());
+        assertNotNull(principal.get().expiresAt());
+    }
+
+    @Test
+    void parseToken_WithTamperedToken_ShouldReturnEmpty() {
+        String token = tokenProvider.generateToken(authentication());
+        // Flip a character inside the signature; the final base64url character carries padding bits
+        int i = token.length() - 10;
+        String tampered = token.substring(0, i) + (token.charAt(i) == 'A' ? 'B' : 'A') + token.substring(i + 1);
+
+        assertTrue(tokenProvider.parseToken(tampered).isEmpty());
+        assertFalse(tokenProvider.validateToken(tampered));
+    }
+
+    private static UsernamePasswordAuthenticationToken authentication() {
+        UserPrincipal principal = UserPrincipal.from(User.builder()
+                .id(1L)
+                .username("testuser")
+                .email("test@example.com")
+                .password("hash")
+                .roles(Set.of("ROLE_USER"))
+                .build());
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+}
@@ -0,0 +1,70 @@
+package com.koushik.techInterviewSim.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SupabaseTokenVerifierTest {
+
+    private static final String SECRET = "test-jwt-secret";
+    private static final String PROJECT_URL = "http://localhost:54321";
+
+    private SupabaseTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        verifier = new SupabaseTokenVerifier(new SimpleMeterRegistry(), new JwksKeySet(new ObjectMapper()));
+        ReflectionTestUtils.setField(verifier, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(verifier, "supabaseProjectUrl", PROJECT_URL);
+        ReflectionTestUtils.setField(verifier, "cacheMaxSize", 100L);
+        verifier.init();
+    }
+
+    @Test
+    void verifyToken_RepeatedToken_ShouldHitCache() {
+        String token = token(SECRET, Instant.now().plusSeconds(3600));
+
+        DecodedJWT first = verifier.verifyToken(token);
+        DecodedJWT second = verifier.verifyToken(token);
+
+        assertNotNull(first);
+        assertSame(first, second);
+        assertEquals(1, verifier.getCacheStats().missCount());
+        assertEquals(1, verifier.getCacheStats().hitCount());
+    }
+
+    @Test
+    void verifyToken_WithWrongSignature_ShouldReturnNullAndNotCache() {
+        String token = token("some-other-secret", Instant.now().plusSeconds(3600));
+
+        assertNull(verifier.verifyToken(token));
+        assertNull(verifier.verifyToken(token));
+        assertEquals(0, verifier.getCacheStats().hitCount());
+    }
+
+    @Test
+    void verifyToken_WithExpiredToken_ShouldReturnNull() {
+        String token = token(SECRET, Instant.now().minusSeconds(60));
+
+        assertNull(verifier.verifyToken(token));
+    }
+
+    private static String token(String secret, Instant expiresAt) {
+        return JWT.create()
+                .withIssuer(PROJECT_URL + "/auth/v1")
+                .withSubject("user-123")
+                .withIssuedAt(Date.from(Instant.now()))
+                .withExpiresAt(Date.from(expiresAt))
+                .sign(Algorithm.HMAC256(secret));
+    }
+}
@@ -0,0 +1,105 @@
+package com.koushik.techInterviewSim.security;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.koushik.techInterviewSim.entity.User;
+import com.koushik.techInterviewSim.repository.UserRepository;
+import com.koushik.techInterviewSim.util.TestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TokenAuthenticationFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @SpyBean
+    private JwtTokenProvider jwtTokenProvider;
+
+    @SpyBean
+    private SupabaseTokenVerifier supabaseTokenVerifier;
+
+    private UserPrincipal principal;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        userDetailsService.evictAll();
+
+        User user = userRepository.save(User.builder()
+                .username("testuser")
+                .email("test@example.com")
+                .password("hash")
+                .roles(Set.of("ROLE_USER"))
+                .build());
+        principal = UserPrincipal.from(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void appToken_ShouldBeVerifiedExactlyOnce() throws Exception {
+        String token = jwtTokenProvider.generateToken(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        mockMvc.perform(get("/api/users/username/testuser")
+                .header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk());
+
+        verify(jwtTokenProvider, times(1)).parseToken(anyString());
+        verify(supabaseTokenVerifier, never()).verifyToken(any(DecodedJWT.class));
+        verify(supabaseTokenVerifier, never()).verifyToken(anyString());
+    }
+
+    @Test
+    void supabaseToken_ShouldBeVerifiedExactlyOnce() throws Exception {
+        mockMvc.perform(TestUtils.authorizedRequest(get("/api/users/username/testuser"), "testuser"))
+            .andExpect(status().isOk());
+
+        verify(supabaseTokenVerifier, times(1)).verifyToken(any(DecodedJWT.class));
+        verify(supabaseTokenVerifier, never()).verifyToken(anyString());
+        verify(jwtTokenProvider, never()).parseToken(anyString());
+    }
+
+    @Test
+    void publicPath_ShouldSkipTokenVerification() throws Exception {
+        String token = TestUtils.createTestSupabaseToken("testuser");
+
+        mockMvc.perform(post("/api/auth/login")
+                .header("Authorization", "Bearer " + token)
+                .contentType("application/json")
+                .content("{\"username\":\"testuser\",\"password\":\"wrong\"}"))
+            .andExpect(status().isUnauthorized());
+
+        verify(supabaseTokenVerifier, never()).verifyToken(any(DecodedJWT.class));
+        verify(jwtTokenProvider, never()).parseToken(anyString());
+    }
+}
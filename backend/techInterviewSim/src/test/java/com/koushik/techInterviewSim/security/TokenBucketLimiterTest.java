@@ -0,0 +1,46 @@
+package com.koushik.techInterviewSim.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    @Test
+    void tryAcquire_BeyondCapacity_ShouldRejectUntilRefilled() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, 60, now::get);
+
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        long wait = limiter.tryAcquire("10.0.0.1");
+        assertTrue(wait > 0 && wait <= TimeUnit.SECONDS.toNanos(1));
+
+        // Other keys have their own bucket
+        assertEquals(0, limiter.tryAcquire("10.0.0.2"));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertTrue(limiter.tryAcquire("10.0.0.1") > 0);
+    }
+
+    @Test
+    void evictIdle_ShouldDropOnlyFullyRefilledBuckets() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 60, now::get);
+
+        limiter.tryAcquire("idle");
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        limiter.tryAcquire("busy");
+        limiter.tryAcquire("busy");
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(600));
+
+        assertEquals(1, limiter.evictIdle());
+        assertEquals(1, limiter.size());
+    }
+}
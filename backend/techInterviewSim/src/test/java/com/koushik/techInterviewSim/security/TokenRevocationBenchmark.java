@@ -0,0 +1,70 @@
+package com.koushik.techInterviewSim.security;
+
+import com.koushik.techInterviewSim.repository.RevokedTokenRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Revocation check for a live (not revoked) access token with 100k revoked ids loaded.
+ * Not part of the test suite; run {@link #main} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenRevocationBenchmark {
+
+    private static final int REVOKED = 100_000;
+    private static final int PROBES = 1024;
+
+    private TokenRevocationService service;
+    private String[] liveIds;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<String> revoked = new ArrayList<>(REVOKED);
+        for (int i = 0; i < REVOKED; i++) {
+            revoked.add(UUID.randomUUID().toString());
+        }
+
+        RevokedTokenRepository repository = Mockito.mock(RevokedTokenRepository.class);
+        when(repository.findActiveJtis(any())).thenReturn(revoked);
+        when(repository.existsById(any())).thenReturn(false);
+
+        service = new TokenRevocationService(repository);
+        ReflectionTestUtils.setField(service, "expectedEntries", REVOKED);
+        ReflectionTestUtils.setField(service, "falsePositiveRate", 0.001);
+        service.init();
+
+        liveIds = new String[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            liveIds[i] = UUID.randomUUID().toString();
+        }
+    }
+
+    @Benchmark
+    public boolean isRevoked_LiveToken() {
+        return service.isRevoked(liveIds[next++ & (PROBES - 1)]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TokenRevocationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,86 @@
+package com.koushik.techInterviewSim.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HnswGraphTest {
+
+    private static final int DIMENSIONS = 32;
+
+    @Test
+    void neighbors_ShouldMostlyAgreeWithExactSearch() {
+        SplittableRandom random = new SplittableRandom(7);
+        HnswGraph graph = new HnswGraph(DIMENSIONS, 8, 64, 1);
+        for (int i = 0; i < 3000; i++) {
+            graph.add(randomVector(random));
+        }
+
+        int found = 0;
+        for (int query = 0; query < 100; query++) {
+            List<Integer> exact = exactNeighbors(graph, query, 10);
+            found += (int) graph.neighbors(query, 10, 64).stream()
+                .filter(neighbor -> exact.contains(neighbor.node()))
+                .count();
+        }
+
+        assertTrue(found >= 900, "recall@10: " + found / 1000.0);
+    }
+
+    @Test
+    void search_ShouldSkipDeletedNodesAndRankBySimilarity() {
+        HnswGraph graph = new HnswGraph(DIMENSIONS, 8, 64, 1);
+        SplittableRandom random = new SplittableRandom(7);
+        float[] target = randomVector(random);
+        int exact = graph.add(target);
+        for (int i = 0; i < 200; i++) {
+            graph.add(randomVector(random));
+        }
+        int near = graph.add(nudged(target));
+
+        assertEquals(List.of(exact, near), graph.search(target, 2, 32).stream().map(HnswGraph.Neighbor::node).toList());
+
+        graph.delete(exact);
+        List<HnswGraph.Neighbor> afterDelete = graph.search(target, 2, 32);
+        assertEquals(near, afterDelete.get(0).node());
+        assertTrue(afterDelete.get(0).similarity() >= afterDelete.get(1).similarity());
+        assertEquals(1, graph.deletedCount());
+    }
+
+    private static List<Integer> exactNeighbors(HnswGraph graph, int query, int k) {
+        byte[] vector = graph.vector(query);
+        return IntStream.range(0, graph.size())
+            .filter(node -> node != query)
+            .boxed()
+            .sorted(Comparator.comparingInt((Integer node) -> -dot(vector, graph.vector(node))).thenComparing(node -> node))
+            .limit(k)
+            .toList();
+    }
+
+    private static int dot(byte[] a, byte[] b) {
+        int dot = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+        }
+        return dot;
+    }
+
+    private static float[] randomVector(SplittableRandom random) {
+        float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) (random.nextDouble() * 2 - 1);
+        }
+        return vector;
+    }
+
+    private static float[] nudged(float[] vector) {
+        float[] nudged = vector.clone();
+        nudged[0] += 0.05f;
+        return nudged;
+    }
+}
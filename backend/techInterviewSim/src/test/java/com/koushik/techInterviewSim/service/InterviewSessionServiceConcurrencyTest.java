@@ -0,0 +1,225 @@
+package com.koushik.techInterviewSim.service;
+
+import com.koushik.techInterviewSim.dto.InterviewSessionDTO;
+import com.koushik.techInterviewSim.entity.InterviewSession;
+import com.koushik.techInterviewSim.entity.Question;
+import com.koushik.techInterviewSim.entity.User;
+import com.koushik.techInterviewSim.exception.ApiException;
+import com.koushik.techInterviewSim.repository.InterviewSessionRepository;
+import com.koushik.techInterviewSim.repository.UserRepository;
+import com.koushik.techInterviewSim.security.CustomUserDetailsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class InterviewSessionServiceConcurrencyTest {
+
+    private static final int USERS = 4;
+    private static final int THREADS_PER_USER = 8;
+    private static final int ROUNDS = 25;
+
+    @Autowired
+    private InterviewSessionService sessionService;
+
+    @Autowired
+    private InterviewSessionRepository sessionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<User> users = new ArrayList<>();
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+        userDetailsService.evictAll();
+        for (int i = 0; i < USERS; i++) {
+            users.add(userRepository.save(User.builder()
+                    .username("racer" + i)
+                    .email("racer" + i + "@example.com")
+                    .password("hash")
+                    .roles(Set.of("ROLE_USER"))
+                    .build()));
+        }
+        executor = Executors.newFixedThreadPool(USERS * THREADS_PER_USER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+        userDetailsService.evictAll();
+    }
+
+    @Test
+    void concurrentStarts_ShouldLeaveExactlyOneActiveSessionPerUser() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            // Every user is raced by several threads at once, all released together
+            List<Callable<InterviewSessionDTO>> starts = new ArrayList<>();
+            for (User user : users) {
+                for (int t = 0; t < THREADS_PER_USER; t++) {
+                    starts.add(() -> sessionService.startSession(user.getId()));
+                }
+            }
+
+            List<InterviewSessionDTO> started = successes(race(starts));
+
+            assertEquals(USERS, started.size(), "round " + round);
+            for (User user : users) {
+                assertEquals(1, started.stream().filter(s -> s.getUserId().equals(user.getId())).count());
+            }
+            assertEquals(USERS, sessionRepository.findByStatus(InterviewSession.InterviewStatus.IN_PROGRESS).size());
+
+            // Ending them frees every user for the next round
+            started.forEach(session -> sessionService.endSession(session.getId()));
+        }
+        assertEquals((long) USERS * ROUNDS, sessionRepository.count());
+    }
+
+    @Test
+    void concurrentEndAndCancel_ShouldFinishSessionOnce() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            Long sessionId = sessionService.startSession(users.get(0).getId()).getId();
+            List<Callable<InterviewSessionDTO>> finishes = new ArrayList<>();
+            for (int t = 0; t < THREADS_PER_USER; t++) {
+                finishes.add(t % 2 == 0
+                    ? () -> sessionService.endSession(sessionId)
+                    : () -> sessionService.cancelSession(sessionId));
+            }
+
+            List<InterviewSessionDTO> finished = successes(race(finishes));
+
+            assertEquals(1, finished.size(), "round " + round);
+            InterviewSession stored = sessionRepository.findById(sessionId).orElseThrow();
+            assertEquals(finished.get(0).getStatus(), stored.getStatus());
+            assertNull(stored.getActiveUserId());
+        }
+    }
+
+    @Test
+    void startSession_AfterSessionEndedElsewhere_ShouldIgnoreStaleRegistryEntry() {
+        Long userId = users.get(0).getId();
+        Long first = sessionService.startSession(userId).getId();
+
+        // As if another instance ended it: this registry still holds the session
+        sessionRepository.deleteById(first);
+
+        InterviewSessionDTO second = sessionService.startSession(userId);
+        assertNotEquals(first, second.getId());
+        assertEquals(InterviewSession.InterviewStatus.IN_PROGRESS, second.getStatus());
+    }
+
+    @Test
+    void drawQuestions_WithStaleCopyInPersistenceContext_ShouldKeepOtherDraws() throws Exception {
+        Long sessionId = sessionService.startSession(users.get(0).getId()).getId();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // As the ownership check leaves it under open-in-view
+            sessionRepository.findById(sessionId).orElseThrow();
+            try {
+                // Another request records a draw meanwhile
+                executor.submit(() -> {
+                    InterviewSession other = sessionRepository.findById(sessionId).orElseThrow();
+                    other.setAskedQuestions(SeenQuestionTracker.serialize(MutableRoaringBitmap.bitmapOf(999_999)));
+                    sessionRepository.save(other);
+                }).get(30, TimeUnit.SECONDS);
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+            sessionService.drawQuestions(sessionId,
+                Question.QuestionCategory.DATA_STRUCTURE, Question.QuestionDifficulty.MEDIUM, 1, 1L);
+        });
+
+        byte[] asked = sessionRepository.findById(sessionId).orElseThrow().getAskedQuestions();
+        assertTrue(SeenQuestionTracker.deserialize(asked).contains(999_999));
+    }
+
+    @Test
+    void startSession_ForMissingUser_ShouldReturnNotFound() {
+        ApiException ex = assertThrows(ApiException.class, () -> sessionService.startSession(Long.MAX_VALUE));
+
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatus());
+        assertEquals(0, sessionRepository.count());
+    }
+
+    @Test
+    void save_SecondActiveSessionForUser_ShouldViolateConstraint() {
+        sessionRepository.save(activeSession(users.get(0)));
+
+        assertThrows(DataIntegrityViolationException.class,
+            () -> sessionRepository.save(activeSession(users.get(0))));
+        // Finished sessions do not count
+        sessionRepository.save(activeSession(users.get(1)));
+        InterviewSession done = activeSession(users.get(1));
+        done.setStatus(InterviewSession.InterviewStatus.COMPLETED);
+        assertDoesNotThrow(() -> sessionRepository.save(done));
+    }
+
+    private static InterviewSession activeSession(User user) {
+        return InterviewSession.builder()
+                .user(user)
+                .startTime(LocalDateTime.now())
+                .status(InterviewSession.InterviewStatus.IN_PROGRESS)
+                .build();
+    }
+
+    private <T> List<Future<T>> race(List<Callable<T>> tasks) throws InterruptedException {
+        CountDownLatch gate = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        for (Callable<T> task : tasks) {
+            futures.add(executor.submit(() -> {
+                gate.await();
+                return task.call();
+            }));
+        }
+        gate.countDown();
+        return futures;
+    }
+
+    // Losers must fail with the API's 400, never with a raw persistence error
+    private static <T> List<T> successes(List<Future<T>> futures) throws Exception {
+        List<T> successes = new ArrayList<>();
+        for (Future<T> future : futures) {
+            try {
+                successes.add(future.get(30, TimeUnit.SECONDS));
+            } catch (ExecutionException ex) {
+                ApiException api = assertInstanceOf(ApiException.class, ex.getCause());
+                assertEquals(HttpStatus.BAD_REQUEST, api.getStatus());
+            }
+        }
+        return successes;
+    }
+}
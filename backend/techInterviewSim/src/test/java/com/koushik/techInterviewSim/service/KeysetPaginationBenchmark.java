@@ -0,0 +1,141 @@
+package com.koushik.techInterviewSim.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fetches one page of 20 sessions, newest first, from 300k rows in in-memory H2 with a
+ * descending (start_time, id) index. Compares OFFSET paging plus the COUNT query Spring Data issues
+ * for a {@code Page} against the keyset query behind the scroll endpoints, at shallow and
+ * deep pages. Every tenth start time is shared by two rows, so the id tie-break matters.
+ * Not part of the test suite; run {@link #main} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class KeysetPaginationBenchmark {
+
+    private static final int SESSIONS = 300_000;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1", "100", "10000"})
+    private int page;
+
+    private Connection connection;
+    private PreparedStatement count;
+    private PreparedStatement offsetPage;
+    private PreparedStatement keysetPage;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        // Result reuse would serve every repeated query from cache
+        connection = DriverManager.getConnection("jdbc:h2:mem:keyset" + page
+            + ";DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE interview_sessions (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, "
+                + "start_time TIMESTAMP NOT NULL, status VARCHAR(16) NOT NULL)");
+            ddl.execute("CREATE INDEX idx_interview_sessions_start_time_id ON interview_sessions (start_time DESC, id DESC)");
+        }
+
+        LocalDateTime origin = LocalDateTime.of(2024, 1, 1, 0, 0);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO interview_sessions VALUES (?, ?, ?, 'COMPLETED')")) {
+            for (int i = 0; i < SESSIONS; i++) {
+                int minute = i % 10 == 9 ? i - 1 : i;
+                insert.setLong(1, i + 1);
+                insert.setLong(2, i % 1000);
+                insert.setTimestamp(3, Timestamp.valueOf(origin.plusMinutes(minute)));
+                insert.addBatch();
+                if (i % 1000 == 999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+
+        String newestFirst = " ORDER BY start_time DESC, id DESC";
+        count = connection.prepareStatement("SELECT COUNT(*) FROM interview_sessions");
+        offsetPage = connection.prepareStatement("SELECT id, user_id, start_time, status FROM interview_sessions"
+            + newestFirst + " LIMIT ? OFFSET ?");
+        offsetPage.setInt(1, PAGE_SIZE);
+        offsetPage.setInt(2, (page - 1) * PAGE_SIZE);
+
+        // The cursor a client holds after reading the previous page
+        keysetPage = connection.prepareStatement("SELECT id, user_id, start_time, status FROM interview_sessions "
+            + "WHERE start_time <= ? AND (start_time < ? OR id < ?)" + newestFirst + " LIMIT ?");
+        if (page == 1) {
+            Timestamp beyond = Timestamp.valueOf(origin.plusYears(10));
+            keysetPage.setTimestamp(1, beyond);
+            keysetPage.setTimestamp(2, beyond);
+            keysetPage.setLong(3, Long.MAX_VALUE);
+        } else {
+            try (PreparedStatement last = connection.prepareStatement("SELECT id, start_time FROM interview_sessions"
+                    + newestFirst + " LIMIT 1 OFFSET ?")) {
+                last.setInt(1, (page - 1) * PAGE_SIZE - 1);
+                try (ResultSet rs = last.executeQuery()) {
+                    rs.next();
+                    keysetPage.setTimestamp(1, rs.getTimestamp(2));
+                    keysetPage.setTimestamp(2, rs.getTimestamp(2));
+                    keysetPage.setLong(3, rs.getLong(1));
+                }
+            }
+        }
+        keysetPage.setInt(4, PAGE_SIZE + 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement drop = connection.createStatement()) {
+            drop.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public List<Long> offsetWithCount() throws SQLException {
+        try (ResultSet rs = count.executeQuery()) {
+            rs.next();
+        }
+        return ids(offsetPage);
+    }
+
+    @Benchmark
+    public List<Long> keyset() throws SQLException {
+        return ids(keysetPage);
+    }
+
+    private static List<Long> ids(PreparedStatement query) throws SQLException {
+        List<Long> ids = new ArrayList<>(PAGE_SIZE + 1);
+        try (ResultSet rs = query.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(KeysetPaginationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
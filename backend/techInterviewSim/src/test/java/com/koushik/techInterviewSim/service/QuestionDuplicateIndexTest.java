@@ -0,0 +1,78 @@
+package com.koushik.techInterviewSim.service;
+
+import com.koushik.techInterviewSim.entity.Question;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static com.koushik.techInterviewSim.entity.Question.QuestionCategory.*;
+import static com.koushik.techInterviewSim.entity.Question.QuestionDifficulty.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class QuestionDuplicateIndexTest {
+
+    private QuestionDuplicateIndex index;
+
+    @BeforeEach
+    void setUp() {
+        QuestionCatalog catalog = mock(QuestionCatalog.class);
+        when(catalog.all()).thenReturn(List.of(
+            entry(1L, "Explain how a hash table handles collisions", DATA_STRUCTURE, EASY),
+            entry(2L, "Design a rate limiter for a public REST API", SYSTEM_DESIGN, MEDIUM),
+            entry(3L, "How would you design a rate limiter for a public REST API?", SYSTEM_DESIGN, HARD),
+            entry(4L, "What is a database index?", DATABASE, EASY)
+        ));
+
+        index = new QuestionDuplicateIndex(catalog);
+        ReflectionTestUtils.setField(index, "threshold", 0.7);
+        index.init();
+    }
+
+    @Test
+    void findSimilar_ShouldMatchRephrasedQuestion() {
+        List<QuestionDuplicateIndex.Match> matches =
+            index.findSimilar("Explain how a HASH TABLE handles key collisions!", null);
+
+        assertEquals(List.of(1L), ids(matches));
+        assertTrue(matches.get(0).similarity() >= 0.7);
+    }
+
+    @Test
+    void findSimilar_ShouldIgnoreUnrelatedQuestionsAndExcludedId() {
+        assertTrue(index.findSimilar("Describe the CAP theorem and its trade-offs", null).isEmpty());
+        assertEquals(List.of(3L), ids(index.findSimilar("Design a rate limiter for a public REST API", 2L)));
+    }
+
+    @Test
+    void clusters_ShouldGroupOnlyNearDuplicates() {
+        List<List<QuestionCatalog.Entry>> clusters = index.clusters();
+
+        assertEquals(1, clusters.size());
+        assertEquals(List.of(2L, 3L), clusters.get(0).stream().map(QuestionCatalog.Entry::id).toList());
+    }
+
+    @Test
+    void onQuestionChanged_ShouldUpdateIndexIncrementally() {
+        index.onQuestionChanged(QuestionChangedEvent.deleted(3L));
+        index.onQuestionChanged(new QuestionChangedEvent(4L,
+            entry(4L, "Explain how a hash table handles its collisions", DATA_STRUCTURE, MEDIUM)));
+
+        List<List<QuestionCatalog.Entry>> clusters = index.clusters();
+        assertEquals(1, clusters.size());
+        assertEquals(List.of(1L, 4L), clusters.get(0).stream().map(QuestionCatalog.Entry::id).toList());
+        assertTrue(index.findSimilar("What is a database index?", null).isEmpty());
+    }
+
+    private static QuestionCatalog.Entry entry(Long id, String text, Question.QuestionCategory category,
+                                               Question.QuestionDifficulty difficulty) {
+        return new QuestionCatalog.Entry(id, text, category, difficulty);
+    }
+
+    private static List<Long> ids(List<QuestionDuplicateIndex.Match> matches) {
+        return matches.stream().map(match -> match.entry().id()).toList();
+    }
+}
@@ -0,0 +1,84 @@
+package com.koushik.techInterviewSim.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.koushik.techInterviewSim.entity.Question;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes one question, and a list of 20 as {@code /random} does, to a discarding stream:
+ * through a fresh DTO and Jackson as before, and from {@link QuestionJsonCache}. Run with
+ * the GC profiler, so {@code gc.alloc.rate.norm} gives bytes allocated per response.
+ * Not part of the test suite; run {@link #main} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuestionJsonBenchmark {
+
+    private static final int LIST_SIZE = 20;
+
+    // Like Spring's converter, leave the response stream open
+    private final ObjectMapper objectMapper = new ObjectMapper().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private final OutputStream sink = OutputStream.nullOutputStream();
+    private QuestionJsonCache cache;
+    private List<QuestionCatalog.Entry> entries;
+
+    @Setup
+    public void setUp() {
+        cache = new QuestionJsonCache(objectMapper, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "maxSize", DataSize.ofMegabytes(16));
+        cache.init();
+
+        entries = new ArrayList<>(LIST_SIZE);
+        for (int i = 0; i < LIST_SIZE; i++) {
+            entries.add(new QuestionCatalog.Entry((long) i + 1,
+                "Design a rate limiter for a public REST API that serves " + i + " million requests per day",
+                Question.QuestionCategory.SYSTEM_DESIGN, Question.QuestionDifficulty.HARD));
+        }
+        entries.forEach(cache::json);
+    }
+
+    @Benchmark
+    public void dtoSingle() throws IOException {
+        objectMapper.writeValue(sink, QuestionService.convertToDTO(entries.get(0)));
+    }
+
+    @Benchmark
+    public void cachedSingle() throws IOException {
+        sink.write(cache.json(entries.get(0)));
+    }
+
+    @Benchmark
+    public void dtoList() throws IOException {
+        objectMapper.writeValue(sink, entries.stream().map(QuestionService::convertToDTO).toList());
+    }
+
+    @Benchmark
+    public void cachedList() throws IOException {
+        cache.writeJsonArray(entries, sink);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(QuestionJsonBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
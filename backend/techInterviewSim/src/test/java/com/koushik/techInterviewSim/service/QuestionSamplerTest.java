@@ -0,0 +1,95 @@
+package com.koushik.techInterviewSim.service;
+
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuestionSamplerTest {
+
+    private static final List<Integer> POOL = IntStream.range(0, 20).boxed().toList();
+
+    @Test
+    void sample_ShouldReturnDistinctElementsFromPool() {
+        List<Integer> sample = QuestionSampler.sample(POOL, 8, new SplittableRandom());
+
+        assertEquals(8, sample.size());
+        assertEquals(8, new HashSet<>(sample).size());
+        assertTrue(POOL.containsAll(sample));
+    }
+
+    @Test
+    void sample_WithLimitAbovePoolSize_ShouldReturnWholePool() {
+        List<Integer> sample = QuestionSampler.sample(POOL, 50, new SplittableRandom());
+
+        assertEquals(new HashSet<>(POOL), new HashSet<>(sample));
+    }
+
+    @Test
+    void sample_WithSameSeed_ShouldBeReproducible() {
+        assertEquals(
+            QuestionSampler.sample(POOL, 5, new SplittableRandom(42)),
+            QuestionSampler.sample(POOL, 5, new SplittableRandom(42)));
+    }
+
+    @Test
+    void sample_ShouldPickEveryPositionUniformly() {
+        // Each element should lead the sample about 1/20 of the time
+        int draws = 200_000;
+        int[] firstCounts = new int[POOL.size()];
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < draws; i++) {
+            firstCounts[QuestionSampler.sample(POOL, 3, random).get(0)]++;
+        }
+
+        double expected = (double) draws / POOL.size();
+        double chiSquare = 0;
+        for (int count : firstCounts) {
+            chiSquare += (count - expected) * (count - expected) / expected;
+        }
+        // 19 degrees of freedom; 43.8 is the 0.999 quantile
+        assertTrue(chiSquare < 43.8, "chi-square: " + chiSquare);
+    }
+
+    @Test
+    void sampleUnseen_ShouldSkipSeenIds() {
+        MutableRoaringBitmap pool = MutableRoaringBitmap.bitmapOf(3, 5, 8, 13, 21, 70_000, 140_000);
+        MutableRoaringBitmap seen = MutableRoaringBitmap.bitmapOf(5, 13, 70_000, 999);
+
+        List<Integer> sample = QuestionSampler.sampleUnseen(pool, seen, 4, new SplittableRandom(1));
+
+        assertEquals(new HashSet<>(List.of(3, 8, 21, 140_000)), new HashSet<>(sample));
+    }
+
+    @Test
+    void sampleUnseen_FromLargePool_ShouldReturnDistinctUnseenIds() {
+        MutableRoaringBitmap pool = new MutableRoaringBitmap();
+        pool.add(0L, 1000L);
+        MutableRoaringBitmap seen = new MutableRoaringBitmap();
+        for (int id = 0; id < 1000; id += 2) {
+            seen.add(id);
+        }
+
+        List<Integer> sample = QuestionSampler.sampleUnseen(pool, seen, 10, new SplittableRandom(3));
+
+        assertEquals(10, new HashSet<>(sample).size());
+        assertTrue(sample.stream().allMatch(id -> id % 2 == 1));
+    }
+
+    @Test
+    void sampleUnseen_WhenPoolIsNearlyExhausted_ShouldReturnUnseenFirstThenRepeat() {
+        MutableRoaringBitmap pool = MutableRoaringBitmap.bitmapOf(1, 2, 3, 4);
+        MutableRoaringBitmap seen = MutableRoaringBitmap.bitmapOf(1, 2, 3);
+
+        List<Integer> sample = QuestionSampler.sampleUnseen(pool, seen, 3, new SplittableRandom(1));
+
+        assertEquals(3, sample.size());
+        assertEquals(4, sample.get(0));
+        assertEquals(3, new HashSet<>(sample).size());
+    }
+}
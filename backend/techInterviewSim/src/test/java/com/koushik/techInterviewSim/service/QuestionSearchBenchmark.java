@@ -0,0 +1,99 @@
+package com.koushik.techInterviewSim.service;
+
+import com.koushik.techInterviewSim.entity.Question;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Ranked search over 1M synthetic questions of 12 words each, drawn from a
+ * Zipf-like 20k-word vocabulary. Queries pair a common and a rare word, or use a
+ * partial word expanded through trigrams.
+ * Not part of the test suite; run {@link #main} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class QuestionSearchBenchmark {
+
+    private static final int QUESTIONS = 1_000_000;
+    private static final int VOCABULARY = 20_000;
+    private static final int WORDS_PER_QUESTION = 12;
+    private static final String[] SYLLABLES = {
+        "al", "be", "co", "da", "el", "fi", "go", "ha", "in", "ju", "ka", "lo", "mu", "ne",
+        "or", "pa", "qu", "ri", "so", "tu", "ul", "vi", "wa", "xe", "yo", "ze"
+    };
+
+    private QuestionSearchIndex index;
+    private String[] words;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(1);
+        words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            words[i] = SYLLABLES[i % 26] + SYLLABLES[(i / 26) % 26] + SYLLABLES[(i / 676) % 26] + i % 7;
+        }
+
+        Question.QuestionCategory[] categories = Question.QuestionCategory.values();
+        Question.QuestionDifficulty[] difficulties = Question.QuestionDifficulty.values();
+        List<QuestionCatalog.Entry> entries = new ArrayList<>(QUESTIONS);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < QUESTIONS; i++) {
+            text.setLength(0);
+            for (int w = 0; w < WORDS_PER_QUESTION; w++) {
+                text.append(words[zipf(random)]).append(' ');
+            }
+            entries.add(new QuestionCatalog.Entry((long) i + 1, text.toString(),
+                categories[i % categories.length], difficulties[i % difficulties.length]));
+        }
+
+        QuestionCatalog catalog = mock(QuestionCatalog.class);
+        when(catalog.all()).thenReturn(entries);
+        index = new QuestionSearchIndex(catalog);
+        ReflectionTestUtils.setField(index, "trigrams", true);
+        index.init();
+    }
+
+    @Benchmark
+    public Page<QuestionCatalog.Entry> commonAndRareTerm() {
+        return index.search(words[3] + " " + words[5000], null, null, PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public Page<QuestionCatalog.Entry> rareTermsWithFilter() {
+        return index.search(words[1200] + " " + words[7000], Question.QuestionCategory.DATABASE,
+            null, PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public Page<QuestionCatalog.Entry> partialWord() {
+        return index.search(words[4321].substring(0, 5), null, null, PageRequest.of(0, 20));
+    }
+
+    // Rank r is drawn with probability roughly proportional to 1/r
+    private static int zipf(SplittableRandom random) {
+        return (int) Math.min(VOCABULARY - 1, Math.exp(random.nextDouble() * Math.log(VOCABULARY)) - 1);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(QuestionSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,102 @@
+package com.koushik.techInterviewSim.service;
+
+import com.koushik.techInterviewSim.entity.Question;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.koushik.techInterviewSim.entity.Question.QuestionCategory.*;
+import static com.koushik.techInterviewSim.entity.Question.QuestionDifficulty.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class QuestionSearchIndexTest {
+
+    private QuestionSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        QuestionCatalog catalog = mock(QuestionCatalog.class);
+        when(catalog.all()).thenReturn(List.of(
+            entry(1L, "Explain how a hash table handles collisions", DATA_STRUCTURE, EASY),
+            entry(2L, "Implement mergesort and compare it with quicksort", ALGORITHM, MEDIUM),
+            entry(3L, "Design a distributed hash table with consistent hashing of the hash ring", SYSTEM_DESIGN, HARD),
+            entry(4L, "What is a database index?", DATABASE, EASY)
+        ));
+
+        index = new QuestionSearchIndex(catalog);
+        ReflectionTestUtils.setField(index, "trigrams", true);
+        index.init();
+    }
+
+    @Test
+    void search_ShouldRankByRelevance() {
+        Page<QuestionCatalog.Entry> page = index.search("hash table", null, null, PageRequest.of(0, 10));
+
+        assertEquals(List.of(3L, 1L), ids(page));
+        assertEquals(2, page.getTotalElements());
+    }
+
+    @Test
+    void search_ShouldApplyCategoryAndDifficultyFilters() {
+        assertEquals(List.of(1L), ids(index.search("hash", DATA_STRUCTURE, null, PageRequest.of(0, 10))));
+        assertEquals(List.of(3L), ids(index.search("hash", null, HARD, PageRequest.of(0, 10))));
+        assertTrue(index.search("hash", DATABASE, null, PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void search_WithPartialWord_ShouldMatchLongerTerms() {
+        assertEquals(List.of(2L), ids(index.search("sort", null, null, PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void search_ShouldPageThroughRankedResults() {
+        Page<QuestionCatalog.Entry> second = index.search("hash table", null, null, PageRequest.of(1, 1));
+
+        assertEquals(List.of(1L), ids(second));
+        assertEquals(2, second.getTotalElements());
+    }
+
+    @Test
+    void onQuestionChanged_ShouldUpdateIndexIncrementally() {
+        index.onQuestionChanged(new QuestionChangedEvent(4L,
+            entry(4L, "What is a database hash index?", DATABASE, EASY)));
+        index.onQuestionChanged(QuestionChangedEvent.deleted(1L));
+
+        assertEquals(List.of(3L, 4L), ids(index.search("hash", null, null, PageRequest.of(0, 10))));
+        assertTrue(index.search("collisions", null, null, PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void search_WithManyHits_ShouldCountAndRankAllOfThem() {
+        List<QuestionCatalog.Entry> entries = new ArrayList<>();
+        for (long id = 100; id < 600; id++) {
+            entries.add(entry(id, "Explain cache eviction", SYSTEM_DESIGN, MEDIUM));
+        }
+        entries.add(entry(1_000L, "Explain cache cache eviction", SYSTEM_DESIGN, MEDIUM));
+        QuestionCatalog catalog = mock(QuestionCatalog.class);
+        when(catalog.all()).thenReturn(entries);
+        QuestionSearchIndex large = new QuestionSearchIndex(catalog);
+        large.init();
+
+        Page<QuestionCatalog.Entry> page = large.search("cache", null, null, PageRequest.of(0, 3));
+
+        assertEquals(List.of(1_000L, 100L, 101L), ids(page));
+        assertEquals(501, page.getTotalElements());
+    }
+
+    private static QuestionCatalog.Entry entry(Long id, String text, Question.QuestionCategory category,
+                                               Question.QuestionDifficulty difficulty) {
+        return new QuestionCatalog.Entry(id, text, category, difficulty);
+    }
+
+    private static List<Long> ids(Page<QuestionCatalog.Entry> page) {
+        return page.getContent().stream().map(QuestionCatalog.Entry::id).toList();
+    }
+}
@@ -0,0 +1,112 @@
+package com.koushik.techInterviewSim.service;
+
+import com.koushik.techInterviewSim.entity.Question;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Draws 5 random questions from one category x difficulty pool, comparing the former
+ * {@code ORDER BY RANDOM() LIMIT} native query (on in-memory H2) with sampling the
+ * catalog pool. Questions are spread evenly over all 21 pools.
+ * Not part of the test suite; run {@link #main} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class RandomQuestionsBenchmark {
+
+    private static final int LIMIT = 5;
+    private static final Question.QuestionCategory[] CATEGORIES = Question.QuestionCategory.values();
+    private static final Question.QuestionDifficulty[] DIFFICULTIES = Question.QuestionDifficulty.values();
+
+    @Param({"10000", "100000", "1000000"})
+    private int questions;
+
+    private Connection connection;
+    private PreparedStatement orderByRandom;
+    private List<QuestionCatalog.Entry> pool;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:bench" + questions + ";DB_CLOSE_DELAY=-1");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE questions (id BIGINT PRIMARY KEY, text VARCHAR(255) NOT NULL, "
+                + "category VARCHAR(32) NOT NULL, difficulty VARCHAR(16) NOT NULL)");
+        }
+
+        pool = new ArrayList<>();
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO questions VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < questions; i++) {
+                Question.QuestionCategory category = CATEGORIES[i % CATEGORIES.length];
+                Question.QuestionDifficulty difficulty = DIFFICULTIES[(i / CATEGORIES.length) % DIFFICULTIES.length];
+                String text = "Question " + i;
+                insert.setLong(1, i);
+                insert.setString(2, text);
+                insert.setString(3, category.name());
+                insert.setString(4, difficulty.name());
+                insert.addBatch();
+                if (i % 1000 == 999) {
+                    insert.executeBatch();
+                }
+                if (category == CATEGORIES[0] && difficulty == DIFFICULTIES[0]) {
+                    pool.add(new QuestionCatalog.Entry((long) i, text, category, difficulty));
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+
+        orderByRandom = connection.prepareStatement("SELECT * FROM questions "
+            + "WHERE category = ? AND difficulty = ? ORDER BY RANDOM() LIMIT ?");
+        orderByRandom.setString(1, CATEGORIES[0].name());
+        orderByRandom.setString(2, DIFFICULTIES[0].name());
+        orderByRandom.setInt(3, LIMIT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement drop = connection.createStatement()) {
+            drop.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public List<Long> nativeOrderByRandom() throws SQLException {
+        List<Long> ids = new ArrayList<>(LIMIT);
+        try (ResultSet rs = orderByRandom.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    @Benchmark
+    public List<QuestionCatalog.Entry> catalogSample() {
+        return QuestionSampler.sample(pool, LIMIT, ThreadLocalRandom.current());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RandomQuestionsBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,147 @@
+package com.koushik.techInterviewSim.service;
+
+import com.koushik.techInterviewSim.entity.Question;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static com.koushik.techInterviewSim.entity.Question.QuestionCategory.*;
+import static com.koushik.techInterviewSim.entity.Question.QuestionDifficulty.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RelatedQuestionIndexTest {
+
+    private QuestionCatalog catalog;
+    private RelatedQuestionIndex index;
+    private List<QuestionCatalog.Entry> entries;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        entries = new ArrayList<>(List.of(
+            entry(1L, "Explain how a hash table handles collisions", DATA_STRUCTURE, EASY),
+            entry(2L, "How does a hash map resolve hash collisions?", DATA_STRUCTURE, MEDIUM),
+            entry(3L, "Design a rate limiter for a public REST API", SYSTEM_DESIGN, HARD),
+            entry(4L, "What is a database index and when does it slow down writes?", DATABASE, EASY)
+        ));
+        catalog = mock(QuestionCatalog.class);
+        when(catalog.all()).thenAnswer(invocation -> List.copyOf(entries));
+        when(catalog.find(anyLong())).thenAnswer(invocation -> entries.stream()
+            .filter(entry -> entry.id().equals(invocation.getArgument(0)))
+            .findFirst());
+
+        index = newIndex(new HashingQuestionEmbedder(256));
+        index.init();
+        index.awaitBuilds();
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+    }
+
+    @Test
+    void related_ShouldRankSimilarWordingFirstAndExcludeItself() {
+        List<RelatedQuestionIndex.Match> related = index.related(1L, 3);
+
+        assertEquals(2L, related.get(0).entry().id());
+        assertEquals(3, related.size());
+        assertTrue(related.stream().noneMatch(match -> match.entry().id() == 1L));
+        assertTrue(related.get(0).similarity() > related.get(1).similarity());
+    }
+
+    @Test
+    void related_ForUnknownQuestion_ShouldBeEmpty() {
+        assertTrue(index.related(99L, 3).isEmpty());
+    }
+
+    @Test
+    void onQuestionChanged_ShouldReembedOnlyWhenTextChanges() {
+        change(entry(2L, "How does a hash map resolve hash collisions?", ALGORITHM, HARD));
+        assertEquals(ALGORITHM, index.related(1L, 1).get(0).entry().category());
+
+        change(entry(4L, "Explain how a hash table handles key collisions", DATABASE, EASY));
+        entries.removeIf(entry -> entry.id() == 2L);
+        index.onQuestionChanged(QuestionChangedEvent.deleted(2L));
+
+        assertEquals(List.of(4L, 3L), ids(index.related(1L, 5)));
+    }
+
+    @Test
+    void reconcile_ShouldApplyOnlyTheDifferenceFromTheCatalog() throws Exception {
+        entries.removeIf(entry -> entry.id() == 3L);
+        entries.add(entry(5L, "Design a rate limiter for a private gRPC API", SYSTEM_DESIGN, MEDIUM));
+
+        index.reconcile();
+        index.awaitBuilds();
+
+        List<Long> related = ids(index.related(1L, 5));
+        assertEquals(3, related.size());
+        assertTrue(related.containsAll(List.of(2L, 4L, 5L)));
+    }
+
+    @Test
+    void onQuestionChanged_DuringInitialBuild_ShouldServeAndThenReplayTheChange() throws Exception {
+        index.shutdown();
+        CountDownLatch release = new CountDownLatch(1);
+        HashingQuestionEmbedder hashing = new HashingQuestionEmbedder(256);
+        index = newIndex(new QuestionEmbedder() {
+            @Override
+            public int dimensions() {
+                return hashing.dimensions();
+            }
+
+            @Override
+            public float[] embed(String text) {
+                if (Thread.currentThread().getName().startsWith("related-questions-")) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return hashing.embed(text);
+            }
+        });
+        index.init();
+
+        assertTrue(index.related(1L, 3).isEmpty());
+        change(entry(3L, "How do hash tables handle collisions?", DATA_STRUCTURE, HARD));
+        release.countDown();
+        index.awaitBuilds();
+
+        RelatedQuestionIndex.Match changed = index.related(1L, 3).stream()
+            .filter(match -> match.entry().id() == 3L)
+            .findFirst().orElseThrow();
+        assertEquals(HARD, changed.entry().difficulty());
+        assertTrue(List.of(1L, 2L).contains(index.related(3L, 1).get(0).entry().id()));
+    }
+
+    private RelatedQuestionIndex newIndex(QuestionEmbedder embedder) {
+        RelatedQuestionIndex related = new RelatedQuestionIndex(catalog, embedder);
+        ReflectionTestUtils.setField(related, "efSearch", 16);
+        return related;
+    }
+
+    // The catalog applies a change before the other views are told about it
+    private void change(QuestionCatalog.Entry changed) {
+        entries.replaceAll(entry -> entry.id().equals(changed.id()) ? changed : entry);
+        index.onQuestionChanged(new QuestionChangedEvent(changed.id(), changed));
+    }
+
+    private static QuestionCatalog.Entry entry(Long id, String text, Question.QuestionCategory category,
+                                               Question.QuestionDifficulty difficulty) {
+        return new QuestionCatalog.Entry(id, text, category, difficulty);
+    }
+
+    private static List<Long> ids(List<RelatedQuestionIndex.Match> matches) {
+        return matches.stream().map(match -> match.entry().id()).toList();
+    }
+}
@@ -0,0 +1,158 @@
+package com.koushik.techInterviewSim.service;
+
+import com.koushik.techInterviewSim.entity.Question;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Top-10 related questions over synthetic questions of 12 words. A third of the words
+ * come from one of 2,000 topics and the rest from a Zipf-like 20k-word vocabulary.
+ * Compares the HNSW index against an exact scan over the same quantized embeddings.
+ * Building the graph dominates the run; the million-question trial takes a while, and
+ * {@code -p questions=100000} skips it.
+ * Not part of the test suite; run {@link #main} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class RelatedQuestionsBenchmark {
+
+    private static final int VOCABULARY = 20_000;
+    private static final int TOPICS = 2_000;
+    private static final int WORDS_PER_TOPIC = 10;
+    private static final int WORDS_PER_QUESTION = 12;
+    private static final int K = 10;
+    private static final String[] SYLLABLES = {
+        "al", "be", "co", "da", "el", "fi", "go", "ha", "in", "ju", "ka", "lo", "mu", "ne",
+        "or", "pa", "qu", "ri", "so", "tu", "ul", "vi", "wa", "xe", "yo", "ze"
+    };
+
+    @Param({"100000", "1000000"})
+    private int questions;
+
+    private RelatedQuestionIndex index;
+    private byte[] vectors;
+    private int dimensions;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        SplittableRandom random = new SplittableRandom(1);
+        String[] words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            words[i] = SYLLABLES[i % 26] + SYLLABLES[(i / 26) % 26] + SYLLABLES[(i / 676) % 26] + i % 7;
+        }
+
+        HashingQuestionEmbedder embedder = new HashingQuestionEmbedder(256);
+        dimensions = embedder.dimensions();
+        vectors = new byte[questions * dimensions];
+        Question.QuestionCategory[] categories = Question.QuestionCategory.values();
+        Question.QuestionDifficulty[] difficulties = Question.QuestionDifficulty.values();
+        List<QuestionCatalog.Entry> entries = new ArrayList<>(questions);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < questions; i++) {
+            int topic = random.nextInt(TOPICS);
+            text.setLength(0);
+            for (int w = 0; w < WORDS_PER_QUESTION; w++) {
+                int word = w % 3 == 0
+                    ? (topic * WORDS_PER_TOPIC + random.nextInt(WORDS_PER_TOPIC)) % VOCABULARY
+                    : zipf(random);
+                text.append(words[word]).append(' ');
+            }
+            entries.add(new QuestionCatalog.Entry((long) i + 1, text.toString(),
+                categories[i % categories.length], difficulties[i % difficulties.length]));
+            quantize(embedder.embed(text.toString()), i * dimensions);
+        }
+
+        QuestionCatalog catalog = mock(QuestionCatalog.class);
+        when(catalog.all()).thenReturn(entries);
+        index = new RelatedQuestionIndex(catalog, embedder);
+        ReflectionTestUtils.setField(index, "efSearch", 64);
+        index.init();
+        index.awaitBuilds();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        index.shutdown();
+    }
+
+    @Benchmark
+    public List<RelatedQuestionIndex.Match> hnsw() {
+        return index.related(nextQuestion() + 1L, K);
+    }
+
+    @Benchmark
+    public int[] exactScan() {
+        int source = nextQuestion();
+        int[] best = new int[K];
+        int[] bestDot = new int[K];
+        Arrays.fill(bestDot, Integer.MIN_VALUE);
+        int from = source * dimensions;
+        for (int other = 0; other < questions; other++) {
+            if (other == source) {
+                continue;
+            }
+            int dot = 0;
+            int to = other * dimensions;
+            for (int i = 0; i < dimensions; i++) {
+                dot += vectors[from + i] * vectors[to + i];
+            }
+            // Insertion into a small sorted top-k
+            int slot = K - 1;
+            if (dot <= bestDot[slot]) {
+                continue;
+            }
+            while (slot > 0 && bestDot[slot - 1] < dot) {
+                bestDot[slot] = bestDot[slot - 1];
+                best[slot] = best[slot - 1];
+                slot--;
+            }
+            bestDot[slot] = dot;
+            best[slot] = other;
+        }
+        return best;
+    }
+
+    private int nextQuestion() {
+        next = (next + 7919) % questions;
+        return next;
+    }
+
+    private void quantize(float[] vector, int offset) {
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        double scale = norm == 0 ? 0 : 127 / Math.sqrt(norm);
+        for (int i = 0; i < vector.length; i++) {
+            vectors[offset + i] = (byte) Math.round(vector[i] * scale);
+        }
+    }
+
+    // Rank r is drawn with probability roughly proportional to 1/r
+    private static int zipf(SplittableRandom random) {
+        return (int) Math.min(VOCABULARY - 1, Math.exp(random.nextDouble() * Math.log(VOCABULARY)) - 1);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RelatedQuestionsBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,189 @@
+package com.koushik.techInterviewSim.service;
+
+import com.koushik.techInterviewSim.dto.SessionTurnDTO;
+import com.koushik.techInterviewSim.entity.SessionTurn;
+import com.koushik.techInterviewSim.entity.User;
+import com.koushik.techInterviewSim.repository.InterviewSessionRepository;
+import com.koushik.techInterviewSim.repository.SessionTurnRepository;
+import com.koushik.techInterviewSim.repository.UserRepository;
+import com.koushik.techInterviewSim.security.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SessionTurnLogTest {
+
+    @Autowired
+    private SessionTurnLog turnLog;
+
+    @Autowired
+    private InterviewSessionService sessionService;
+
+    @Autowired
+    private InterviewSessionRepository sessionRepository;
+
+    @Autowired
+    private SessionTurnRepository turnRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.session-turns.batch-size}")
+    private int batchSize;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        turnLog.flush();
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+        userDetailsService.evictAll();
+        for (int i = 0; i < 2; i++) {
+            userIds.add(userRepository.save(User.builder()
+                    .username("candidate" + i)
+                    .email("candidate" + i + "@example.com")
+                    .password("hash")
+                    .roles(Set.of("ROLE_USER"))
+                    .build()).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        turnLog.flush();
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+        userDetailsService.evictAll();
+    }
+
+    @Test
+    void append_FullBatch_ShouldFlushWithoutWaitingForTimer() throws Exception {
+        Long sessionId = sessionService.startSession(userIds.get(0)).getId();
+
+        for (int i = 0; i < batchSize; i++) {
+            turnLog.append(turn(sessionId, i));
+        }
+
+        // The timer is an hour in tests, so only the size trigger can write these
+        long deadline = System.currentTimeMillis() + 10_000;
+        // Turns count as pending until their batch has committed
+        while ((turnLog.pending() > 0 || turnRepository.count() < batchSize) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(batchSize, turnRepository.count());
+        assertEquals(0, turnLog.pending());
+    }
+
+    @Test
+    void endSession_ShouldWriteOnlyThatSessionsTurnsBeforeReturning() {
+        Long sessionId = sessionService.startSession(userIds.get(0)).getId();
+        Long otherId = sessionService.startSession(userIds.get(1)).getId();
+        LocalDateTime askedAt = LocalDateTime.now().minusSeconds(90);
+        for (int i = 0; i < 3; i++) {
+            turnLog.append(new SessionTurnLog.Turn(sessionId, (long) i, "answer " + i, askedAt, askedAt.plusSeconds(30 * (i + 1))));
+        }
+        turnLog.append(turn(otherId, 0));
+        assertEquals(4, turnLog.pending());
+
+        sessionService.endSession(sessionId);
+
+        List<SessionTurn> transcript = turnRepository.findTranscript(sessionId);
+        assertEquals(List.of("answer 0", "answer 1", "answer 2"), transcript.stream().map(SessionTurn::getAnswer).toList());
+        assertEquals(30_000L, transcript.get(0).getLatencyMs());
+        // The other session's turn waits for the next flush
+        assertEquals(1, turnLog.pending());
+        assertTrue(turnRepository.findTranscript(otherId).isEmpty());
+    }
+
+    @Test
+    void getTranscript_ShouldMergeQueuedTurnsWithoutWritingThem() {
+        Long sessionId = sessionService.startSession(userIds.get(0)).getId();
+        LocalDateTime now = LocalDateTime.now();
+        turnLog.append(new SessionTurnLog.Turn(sessionId, 0L, "answer 0", null, now.minusSeconds(20)));
+        turnLog.flush();
+        turnLog.append(new SessionTurnLog.Turn(sessionId, 1L, "answer 1", now.minusSeconds(15), now.minusSeconds(10)));
+
+        List<SessionTurnDTO> transcript = sessionService.getTranscript(sessionId);
+
+        assertEquals(List.of("answer 0", "answer 1"), transcript.stream().map(SessionTurnDTO::getAnswer).toList());
+        assertNotNull(transcript.get(0).getId());
+        assertNull(transcript.get(1).getId());
+        assertEquals(5_000L, transcript.get(1).getLatencyMs());
+        assertEquals(1, turnRepository.count());
+        assertEquals(1, turnLog.pending());
+    }
+
+    @Test
+    void flush_WithTurnsForDeletedSession_ShouldDropOnlyThose() {
+        Long kept = sessionService.startSession(userIds.get(0)).getId();
+        Long deleted = sessionService.startSession(userIds.get(1)).getId();
+        double droppedBefore = meterRegistry.counter("session.turns.dropped").count();
+        for (int i = 0; i < 4; i++) {
+            turnLog.append(turn(i % 2 == 0 ? kept : deleted, i));
+        }
+        sessionRepository.deleteById(deleted);
+
+        turnLog.flush();
+
+        assertEquals(List.of("answer 0", "answer 2"),
+            turnRepository.findTranscript(kept).stream().map(SessionTurn::getAnswer).toList());
+        assertEquals(2, meterRegistry.counter("session.turns.dropped").count() - droppedBefore);
+        assertEquals(0, turnLog.pending());
+    }
+
+    @Test
+    void concurrentAppends_ShouldAllBeWritten() throws Exception {
+        Long sessionId = sessionService.startSession(userIds.get(0)).getId();
+        int threads = 8;
+        int perThread = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> appenders = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                appenders.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        turnLog.append(turn(sessionId, i));
+                    }
+                }));
+            }
+            for (Future<?> appender : appenders) {
+                appender.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        turnLog.flush();
+
+        assertEquals(0, turnLog.pending());
+        assertEquals((long) threads * perThread, turnRepository.count());
+    }
+
+    private static SessionTurnLog.Turn turn(Long sessionId, int i) {
+        return new SessionTurnLog.Turn(sessionId, (long) i, "answer " + i, null, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,165 @@
+package com.koushik.techInterviewSim.service;
+
+import com.koushik.techInterviewSim.entity.InterviewSession;
+import com.koushik.techInterviewSim.entity.SchedulerLock;
+import com.koushik.techInterviewSim.entity.User;
+import com.koushik.techInterviewSim.repository.InterviewSessionRepository;
+import com.koushik.techInterviewSim.repository.SchedulerLockRepository;
+import com.koushik.techInterviewSim.repository.SessionTurnRepository;
+import com.koushik.techInterviewSim.repository.UserRepository;
+import com.koushik.techInterviewSim.security.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StaleSessionSweeperTest {
+
+    private static final String LOCK = "stale-session-sweeper";
+
+    @Autowired
+    private StaleSessionSweeper sweeper;
+
+    @Autowired
+    private SchedulerLocks schedulerLocks;
+
+    @Autowired
+    private InterviewSessionService sessionService;
+
+    @Autowired
+    private InterviewSessionRepository sessionRepository;
+
+    @Autowired
+    private SchedulerLockRepository lockRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SessionTurnRepository turnRepository;
+
+    @Autowired
+    private SessionTurnLog turnLog;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+        lockRepository.deleteAll();
+        userDetailsService.evictAll();
+        for (int i = 0; i < 8; i++) {
+            users.add(userRepository.save(User.builder()
+                    .username("sweepme" + i)
+                    .email("sweepme" + i + "@example.com")
+                    .password("hash")
+                    .roles(Set.of("ROLE_USER"))
+                    .build()));
+        }
+        // Small chunks, so a handful of sessions takes several
+        ReflectionTestUtils.setField(sweeper, "chunkSize", 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(sweeper, "chunkSize", 500);
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+        lockRepository.deleteAll();
+        userDetailsService.evictAll();
+    }
+
+    @Test
+    void sweep_ShouldCancelOnlySessionsPastTimeoutInChunks() {
+        // Seven abandoned sessions and one current one
+        List<Long> stale = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            stale.add(sessionService.startSession(users.get(i).getId()).getId());
+        }
+        List<InterviewSession> abandoned = sessionRepository.findAllById(stale);
+        abandoned.forEach(session -> session.setStartTime(LocalDateTime.now().minusHours(5)));
+        sessionRepository.saveAll(abandoned);
+        Long current = sessionService.startSession(users.get(7).getId()).getId();
+        // An answer still queued when its session is abandoned
+        turnLog.append(new SessionTurnLog.Turn(stale.get(0), 1L, "unfinished", null, LocalDateTime.now()));
+        double sweptBefore = meterRegistry.counter("sessions.swept").count();
+        long chunksBefore = meterRegistry.timer("sessions.sweep.chunk").count();
+
+        assertEquals(7, sweeper.sweep());
+
+        for (InterviewSession session : sessionRepository.findAllById(stale)) {
+            assertEquals(InterviewSession.InterviewStatus.CANCELLED, session.getStatus());
+            assertNotNull(session.getEndTime());
+            assertNull(session.getActiveUserId());
+        }
+        assertEquals(InterviewSession.InterviewStatus.IN_PROGRESS,
+            sessionRepository.findById(current).orElseThrow().getStatus());
+        assertEquals(7, meterRegistry.counter("sessions.swept").count() - sweptBefore);
+        assertEquals(3, meterRegistry.timer("sessions.sweep.chunk").count() - chunksBefore);
+        assertEquals(0, turnLog.pending());
+        assertEquals(1, turnRepository.findTranscript(stale.get(0)).size());
+
+        // Their users are free to start again
+        assertEquals(InterviewSession.InterviewStatus.IN_PROGRESS,
+            sessionService.startSession(users.get(0).getId()).getStatus());
+        assertEquals(0, sweeper.sweep());
+    }
+
+    @Test
+    void sweep_WhileAnotherInstanceHoldsLock_ShouldSkip() {
+        Long stale = sessionService.startSession(users.get(0).getId()).getId();
+        InterviewSession session = sessionRepository.findById(stale).orElseThrow();
+        session.setStartTime(LocalDateTime.now().minusHours(5));
+        sessionRepository.save(session);
+        LocalDateTime now = LocalDateTime.now();
+        lockRepository.save(SchedulerLock.builder()
+                .name(LOCK)
+                .lockedAt(now)
+                .lockedUntil(now.plusMinutes(5))
+                .lockedBy("other-instance")
+                .build());
+
+        assertEquals(0, sweeper.sweep());
+        assertEquals(InterviewSession.InterviewStatus.IN_PROGRESS,
+            sessionRepository.findById(stale).orElseThrow().getStatus());
+
+        // Once that lease runs out, the lock is taken over
+        SchedulerLock lock = lockRepository.findById(LOCK).orElseThrow();
+        lock.setLockedUntil(now.minusSeconds(1));
+        lockRepository.save(lock);
+
+        assertEquals(1, sweeper.sweep());
+    }
+
+    @Test
+    void tryLock_ShouldExcludeOverlappingRunsUntilUnlocked() {
+        assertTrue(schedulerLocks.tryLock("test-job", Duration.ofMinutes(1)));
+        assertFalse(schedulerLocks.tryLock("test-job", Duration.ofMinutes(1)));
+
+        schedulerLocks.unlock("test-job");
+
+        assertTrue(schedulerLocks.tryLock("test-job", Duration.ofMinutes(1)));
+        schedulerLocks.unlock("test-job");
+    }
+}
@@ -0,0 +1,85 @@
+package com.koushik.techInterviewSim.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Draws 5 unseen questions from one pool of 1/21 of a 1M-question bank for a user who
+ * has seen 20k questions. Compares rank sampling over the pool and history bitmaps with
+ * filtering the pool's ids through a hash set of the user's history.
+ * Not part of the test suite; run {@link #main} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class UnseenQuestionsBenchmark {
+
+    private static final int QUESTIONS = 1_000_000;
+    private static final int POOLS = 21;
+    private static final int SEEN = 20_000;
+    private static final int LIMIT = 5;
+
+    private MutableRoaringBitmap poolIds;
+    private MutableRoaringBitmap seenIds;
+    private List<Integer> poolList;
+    private Set<Integer> seenSet;
+
+    @Setup
+    public void setUp() {
+        poolIds = new MutableRoaringBitmap();
+        poolList = new ArrayList<>();
+        for (int id = 1; id <= QUESTIONS; id++) {
+            if (id % POOLS == 0) {
+                poolIds.add(id);
+                poolList.add(id);
+            }
+        }
+        poolIds.runOptimize();
+
+        SplittableRandom random = new SplittableRandom(1);
+        seenIds = new MutableRoaringBitmap();
+        seenSet = new HashSet<>();
+        while (seenSet.size() < SEEN) {
+            int id = random.nextInt(1, QUESTIONS + 1);
+            seenIds.add(id);
+            seenSet.add(id);
+        }
+        seenIds.runOptimize();
+    }
+
+    @Benchmark
+    public List<Integer> bitmapSample() {
+        return QuestionSampler.sampleUnseen(poolIds, seenIds, LIMIT, ThreadLocalRandom.current());
+    }
+
+    @Benchmark
+    public List<Integer> hashSetFilter() {
+        List<Integer> unseen = new ArrayList<>();
+        for (Integer id : poolList) {
+            if (!seenSet.contains(id)) {
+                unseen.add(id);
+            }
+        }
+        return QuestionSampler.sample(unseen, LIMIT, ThreadLocalRandom.current());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UnseenQuestionsBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -3,8 +3,8 @@ package com.koushik.techInterviewSim.util;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.koushik.techInterviewSim.dto.RegisterRequest;
-import com.koushik.techInterviewSim.model.User;
+import com.koushik.techInterviewSim.dto.auth.RegisterRequest;
+import com.koushik.techInterviewSim.entity.User;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
@@ -12,7 +12,6 @@ import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
@@ -78,7 +77,6 @@ public class TestUtils {
      */
     public static User createTestUser() {
         User user = new User();
-        user.setId(UUID.randomUUID().toString());
         user.setUsername("testuser");
         user.setEmail("test@example.com");
         user.setPassword("password123");
@@ -92,7 +90,7 @@ public class TestUtils {
         return new RegisterRequest(
             "testuser",
             "test@example.com",
-            "password123"
+            "Password123@"
         );
     }
 }